@@ -0,0 +1,71 @@
+package com.zerobase.account.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.zerobase.account.dto.ErrorResponse;
+import com.zerobase.account.exception.AccountException;
+import com.zerobase.account.exception.GlobalException;
+import com.zerobase.account.type.ErrorCode;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 거절(업무 오류) 처리량 : 예외 생성 -> GlobalException 응답 변환
+ * withStackTrace 는 스택 트레이스를 채우는 기존 방식과 같은 비용(서버 장애 코드)이고,
+ * stackless 는 업무 오류 코드의 현재 방식이다. 깊은 호출 스택을 흉내 내기 위해 depth 만큼 재귀 후 던진다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class DeclineBenchmark {
+	private static final int DEPTH = 64;
+
+	private GlobalException globalException;
+
+	@Setup
+	public void setUp() {
+		globalException = new GlobalException(new SimpleMeterRegistry(), 10);
+	}
+
+	@Benchmark
+	public AccountException stackless() {
+		return throwAndCatch(ErrorCode.AMOUNT_EXCEED_BALANCE, DEPTH);
+	}
+
+	@Benchmark
+	public AccountException withStackTrace() {
+		return throwAndCatch(ErrorCode.INVALID_SERVER_ERROR, DEPTH);
+	}
+
+	@Benchmark
+	public ErrorResponse declineResponse() {
+		return globalException.handleAccountException(
+				throwAndCatch(ErrorCode.AMOUNT_EXCEED_BALANCE, DEPTH));
+	}
+
+	private static AccountException throwAndCatch(ErrorCode errorCode, int depth) {
+		try {
+			throwAt(errorCode, depth);
+			return null;
+		} catch (AccountException e) {
+			return e;
+		}
+	}
+
+	private static void throwAt(ErrorCode errorCode, int depth) {
+		if (depth == 0) {
+			throw new AccountException(errorCode);
+		}
+		throwAt(errorCode, depth - 1);
+	}
+}
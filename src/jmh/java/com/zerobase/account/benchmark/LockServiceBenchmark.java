@@ -0,0 +1,88 @@
+package com.zerobase.account.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+
+import com.zerobase.account.service.LocalLockProvider;
+import com.zerobase.account.service.LockService;
+import com.zerobase.account.service.RedisLockProvider;
+
+import redis.embedded.RedisServer;
+
+/**
+ * 계좌 lock 획득 / 해제 비용
+ * redis : 내장 Redis + Redisson, local : JVM 내부 lock stripe
+ * 스레드마다 다른 계좌번호를 써서 경합 없는 lock 왕복 비용을 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class LockServiceBenchmark {
+	private static final int REDIS_PORT = 6380;
+
+	@Param({"redis", "local"})
+	public String provider;
+
+	private RedisServer redisServer;
+	private RedissonClient redissonClient;
+	private LockService lockService;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		if ("local".equals(provider)) {
+			lockService = new LockService(new LocalLockProvider(1024));
+			return;
+		}
+
+		redisServer = new RedisServer(REDIS_PORT);
+		redisServer.start();
+
+		Config config = new Config();
+		config.useSingleServer().setAddress("redis://127.0.0.1:" + REDIS_PORT);
+		redissonClient = Redisson.create(config);
+		lockService = new LockService(new RedisLockProvider(redissonClient));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		if (redissonClient != null) {
+			redissonClient.shutdown();
+		}
+		if (redisServer != null) {
+			redisServer.stop();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Account {
+		String accountNumber;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			accountNumber = String.valueOf(
+					ThreadLocalRandom.current().nextLong(1_000_000_000L, 10_000_000_000L));
+		}
+	}
+
+	@Benchmark
+	public void lockAndUnlock(Account account) {
+		lockService.lock(account.accountNumber, 5000L, 15000L);
+		lockService.unlock(account.accountNumber);
+	}
+}
@@ -0,0 +1,50 @@
+package com.zerobase.account.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.zerobase.account.service.TimeOrderedTransactionIdGenerator;
+import com.zerobase.account.service.TransactionIdGenerator;
+import com.zerobase.account.service.UuidTransactionIdGenerator;
+
+/**
+ * 거래 id 생성 비용
+ * uuid : 기존 방식 (UUID v4 문자열에서 '-' 제거), timeOrdered : 시간 + 노드 + 카운터
+ * -prof gc 로 돌리면 호출당 할당량도 함께 비교할 수 있다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransactionIdBenchmark {
+	private final TransactionIdGenerator uuid = new UuidTransactionIdGenerator();
+	private final TransactionIdGenerator timeOrdered = new TimeOrderedTransactionIdGenerator(1);
+
+	@Benchmark
+	public String uuid() {
+		return uuid.nextId();
+	}
+
+	@Benchmark
+	public String timeOrdered() {
+		return timeOrdered.nextId();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public String uuidContended() {
+		return uuid.nextId();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public String timeOrderedContended() {
+		return timeOrdered.nextId();
+	}
+}
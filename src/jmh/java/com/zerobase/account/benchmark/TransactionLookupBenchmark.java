@@ -0,0 +1,123 @@
+package com.zerobase.account.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * transaction_id / account_id 조회 지연 시간 (H2, 행 수 rows)
+ * indexed=true 는 엔티티에 선언한 인덱스(ux_transaction_transaction_id, ix_transaction_account_id_transacted_at_id)와 같은 구성이다.
+ * 인덱스 없는 10M 건 조회는 full scan 이라 iteration 당 수 초가 걸릴 수 있다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TransactionLookupBenchmark {
+	private static final int ACCOUNTS = 100_000;
+
+	@Param({"10000000"})
+	public int rows;
+
+	@Param({"true", "false"})
+	public boolean indexed;
+
+	private Connection connection;
+	private PreparedStatement findByTransactionId;
+	private PreparedStatement countByAccountId;
+	private PreparedStatement historyFirstPage;
+
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		connection = DriverManager.getConnection(
+				"jdbc:h2:mem:lookup_" + indexed + ";DB_CLOSE_DELAY=-1", "sa", "");
+
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("create table transaction ("
+					+ "id bigint primary key, "
+					+ "account_id bigint, "
+					+ "transaction_id varchar(32), "
+					+ "transacted_at timestamp, "
+					+ "amount bigint)");
+			statement.execute("insert into transaction "
+					+ "select x, mod(x, " + ACCOUNTS + "), "
+					+ "lpad(to_char(x), 32, '0'), "
+					+ "dateadd('SECOND', x, timestamp '2020-01-01 00:00:00'), 1000 "
+					+ "from system_range(1, " + rows + ")");
+
+			if (indexed) {
+				statement.execute("create unique index ux_transaction_transaction_id "
+						+ "on transaction(transaction_id)");
+				statement.execute("create index ix_transaction_account_id_transacted_at_id "
+						+ "on transaction(account_id, transacted_at, id)");
+			}
+		}
+
+		findByTransactionId = connection.prepareStatement(
+				"select id, account_id, amount from transaction where transaction_id = ?");
+		countByAccountId = connection.prepareStatement(
+				"select count(*) from transaction where account_id = ?");
+		historyFirstPage = connection.prepareStatement(
+				"select id, transaction_id, amount, transacted_at from transaction "
+				+ "where account_id = ? "
+				+ "order by transacted_at desc, id desc limit 21");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("drop all objects");
+		}
+		connection.close();
+	}
+
+	@Benchmark
+	public long findByTransactionId() throws SQLException {
+		long id = ThreadLocalRandom.current().nextLong(1, rows + 1L);
+		findByTransactionId.setString(1, String.format("%032d", id));
+		try (ResultSet resultSet = findByTransactionId.executeQuery()) {
+			return resultSet.next() ? resultSet.getLong(1) : -1L;
+		}
+	}
+
+	@Benchmark
+	public long countByAccountId() throws SQLException {
+		countByAccountId.setLong(1, ThreadLocalRandom.current().nextInt(ACCOUNTS));
+		try (ResultSet resultSet = countByAccountId.executeQuery()) {
+			resultSet.next();
+			return resultSet.getLong(1);
+		}
+	}
+
+	/**
+	 * GET /account/{accountNumber}/transactions 첫 페이지 (size 20 + 1)
+	 */
+	@Benchmark
+	public long historyFirstPage() throws SQLException {
+		historyFirstPage.setLong(1, ThreadLocalRandom.current().nextInt(ACCOUNTS));
+		long count = 0;
+		try (ResultSet resultSet = historyFirstPage.executeQuery()) {
+			while (resultSet.next()) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
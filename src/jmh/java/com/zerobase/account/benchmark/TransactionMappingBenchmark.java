@@ -0,0 +1,60 @@
+package com.zerobase.account.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.zerobase.account.domain.Account;
+import com.zerobase.account.domain.Transaction;
+import com.zerobase.account.dto.TransactionDto;
+import com.zerobase.account.dto.UseBalance;
+import com.zerobase.account.type.AccountStatus;
+import com.zerobase.account.type.TransactionResultType;
+import com.zerobase.account.type.TransactionType;
+
+/**
+ * 거래 응답 매핑 비용 (Transaction -> TransactionDto -> UseBalance.Response)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransactionMappingBenchmark {
+	private Transaction transaction;
+
+	@Setup
+	public void setUp() {
+		Account account = Account.builder()
+				.accountNumber("1000000000")
+				.accountStatus(AccountStatus.IN_USE)
+				.balance(10000L)
+				.build();
+
+		transaction = Transaction.builder()
+				.account(account)
+				.transactionType(TransactionType.USE)
+				.transactionResultType(TransactionResultType.S)
+				.transactionId(UUID.randomUUID().toString().replace("-", ""))
+				.amount(1000L)
+				.balanceSnapshot(9000L)
+				.transactedAt(LocalDateTime.now())
+				.build();
+	}
+
+	@Benchmark
+	public TransactionDto fromEntity() {
+		return TransactionDto.fromEntity(transaction);
+	}
+
+	@Benchmark
+	public UseBalance.Response fromEntityToResponse() {
+		return UseBalance.Response.from(TransactionDto.fromEntity(transaction));
+	}
+}
@@ -0,0 +1,68 @@
+package com.zerobase.account.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.zerobase.account.AccountApplication;
+import com.zerobase.account.dto.TransactionDto;
+import com.zerobase.account.service.AccountService;
+import com.zerobase.account.service.TransactionService;
+
+/**
+ * 서비스 계층 잔액 사용 / 취소 처리량
+ * 웹 서버 없이 H2 + 내장 Redis 로 애플리케이션 컨텍스트를 띄우고 TransactionService 를 직접 호출한다.
+ * (lock 은 컨트롤러 AOP 에서 잡으므로 LockServiceBenchmark 에서 따로 측정)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransactionServiceBenchmark {
+	private static final long USER_ID = 1L;
+	private static final long INITIAL_BALANCE = 1_000_000_000L;
+	private static final long AMOUNT = 1L;
+
+	private ConfigurableApplicationContext context;
+	private TransactionService transactionService;
+	private String accountNumber;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = SpringApplication.run(AccountApplication.class,
+				"--spring.main.web-application-type=none",
+				"--spring.jpa.properties.hibernate.show_sql=false",
+				"--spring.jpa.properties.hibernate.format_sql=false",
+				"--logging.level.root=warn");
+
+		transactionService = context.getBean(TransactionService.class);
+		accountNumber = context.getBean(AccountService.class)
+				.createAccount(USER_ID, INITIAL_BALANCE)
+				.getAccountNumber();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public TransactionDto useBalance() {
+		return transactionService.useBalance(USER_ID, accountNumber, AMOUNT);
+	}
+
+	@Benchmark
+	public TransactionDto useAndCancelBalance() {
+		TransactionDto used = transactionService.useBalance(USER_ID, accountNumber, AMOUNT);
+		return transactionService.cancelBalance(used.getTransactionId(), accountNumber, AMOUNT);
+	}
+}
@@ -0,0 +1,173 @@
+package com.zerobase.account.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.zerobase.account.AccountApplication;
+import com.zerobase.account.service.AccountService;
+
+/**
+ * /transaction/use 부하 테스트
+ * perf 프로필(H2 파일 DB + 내장 Redis)로 애플리케이션을 임의 포트에 띄우고
+ * 고정된 동시성으로 잔액 사용 요청을 보낸 뒤 응답 시간 p50 / p99 를 출력한다.
+ *
+ * ./gradlew loadTest -PloadTestArgs="--concurrency=32 --requests=20000 --accounts=10"
+ */
+public class UseBalanceLoadTest {
+	private static final long USER_ID = 1L;
+	private static final long INITIAL_BALANCE = 1_000_000_000L;
+	private static final long AMOUNT = 1L;
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parseOptions(args);
+		int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+		int requests = Integer.parseInt(options.getOrDefault("requests", "20000"));
+		int warmup = Integer.parseInt(options.getOrDefault("warmup", "2000"));
+		// 사용자당 최대 10개, 계좌 수가 적을수록 계좌 lock 경합이 커진다.
+		int accounts = Integer.parseInt(options.getOrDefault("accounts", "10"));
+		if (concurrency < 1 || requests < 1 || warmup < 0 || accounts < 1) {
+			throw new IllegalArgumentException("잘못된 옵션입니다 : " + options);
+		}
+
+		ConfigurableApplicationContext context = SpringApplication.run(AccountApplication.class,
+				"--spring.profiles.active=perf",
+				"--server.port=0");
+		try {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			URI uri = URI.create("http://localhost:" + port + "/transaction/use");
+			List<String> accountNumbers =
+					createAccounts(context.getBean(AccountService.class), accounts);
+			HttpClient httpClient = HttpClient.newBuilder()
+					.version(HttpClient.Version.HTTP_1_1)
+					.build();
+
+			// JIT, 커넥션 풀 예열 (결과는 버림)
+			run(httpClient, uri, accountNumbers, concurrency, warmup);
+			Result result = run(httpClient, uri, accountNumbers, concurrency, requests);
+
+			System.out.printf("requests=%d concurrency=%d accounts=%d%n",
+					requests, concurrency, accounts);
+			result.print();
+		} finally {
+			context.close();
+		}
+	}
+
+	private static List<String> createAccounts(AccountService accountService, int count) {
+		List<String> accountNumbers = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			accountNumbers.add(accountService.createAccount(USER_ID, INITIAL_BALANCE)
+					.getAccountNumber());
+		}
+		return accountNumbers;
+	}
+
+	private static Result run(HttpClient httpClient, URI uri, List<String> accountNumbers,
+			int concurrency, int requests) throws Exception {
+		long[] latencies = new long[requests];
+		AtomicInteger next = new AtomicInteger();
+		AtomicInteger errors = new AtomicInteger();
+
+		Callable<Void> worker = () -> {
+			int i;
+			while ((i = next.getAndIncrement()) < requests) {
+				HttpRequest request = HttpRequest.newBuilder(uri)
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofString(String.format(
+								"{\"userId\":%d,\"accountNumber\":\"%s\",\"amount\":%d}",
+								USER_ID, accountNumbers.get(i % accountNumbers.size()), AMOUNT)))
+						.build();
+
+				long start = System.nanoTime();
+				try {
+					HttpResponse<String> response =
+							httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+					// 업무 오류도 200 + ErrorResponse 로 응답한다.
+					if (response.statusCode() != 200 || response.body().contains("\"errorCode\"")) {
+						errors.incrementAndGet();
+					}
+				} catch (IOException e) {
+					errors.incrementAndGet();
+				}
+				latencies[i] = System.nanoTime() - start;
+			}
+			return null;
+		};
+
+		ExecutorService executorService = Executors.newFixedThreadPool(concurrency);
+		try {
+			List<Callable<Void>> workers = new ArrayList<>(concurrency);
+			for (int i = 0; i < concurrency; i++) {
+				workers.add(worker);
+			}
+
+			long start = System.nanoTime();
+			for (Future<Void> future : executorService.invokeAll(workers)) {
+				future.get();
+			}
+			return new Result(latencies, errors.get(), System.nanoTime() - start);
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	private static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("--name=value 형식이어야 합니다 : " + arg);
+			}
+			int index = arg.indexOf('=');
+			options.put(arg.substring(2, index), arg.substring(index + 1));
+		}
+		return options;
+	}
+
+	private static class Result {
+		private final long[] latencies;
+		private final int errors;
+		private final long elapsed;
+
+		Result(long[] latencies, int errors, long elapsed) {
+			this.latencies = latencies.clone();
+			this.errors = errors;
+			this.elapsed = elapsed;
+			Arrays.sort(this.latencies);
+		}
+
+		void print() {
+			System.out.printf("throughput=%.1f req/s errors=%d%n",
+					latencies.length * 1_000_000_000.0 / elapsed, errors);
+			System.out.printf("p50=%.3f ms p90=%.3f ms p99=%.3f ms max=%.3f ms%n",
+					percentile(0.50), percentile(0.90), percentile(0.99),
+					millis(latencies[latencies.length - 1]));
+		}
+
+		// nearest-rank
+		private double percentile(double p) {
+			int rank = (int) Math.ceil(p * latencies.length);
+			return millis(latencies[Math.max(rank, 1) - 1]);
+		}
+
+		private static double millis(long nanos) {
+			return nanos / 1_000_000.0;
+		}
+	}
+}
@@ -7,10 +7,20 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * 계좌 단위 lock 을 잡고 메소드를 실행한다.
+ * tryLockTime : lock 획득 대기 시간(ms)
+ * leaseTime : lock 보유 한도(ms), 노드가 죽어도 이 시간이 지나면 lock 이 풀린다.
+ */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 @Inherited
 public @interface AccountLock {
-	long tryLockTime() default 5000L;
+	long DEFAULT_TRY_LOCK_TIME = 5000L;
+	long DEFAULT_LEASE_TIME = 15000L;
+
+	long tryLockTime() default DEFAULT_TRY_LOCK_TIME;
+
+	long leaseTime() default DEFAULT_LEASE_TIME;
 }
@@ -0,0 +1,20 @@
+package com.zerobase.account.aop;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Idempotency-Key 헤더가 있으면 같은 키로 들어온 재시도에 처음 응답을 그대로 돌려준다.
+ * 메소드 인자는 (AccountLockIdInterface 요청, String 키) 순서여야 하고,
+ * 계좌 lock(@AccountLock) 보다 먼저 적용되므로 재시도는 lock 과 DB 를 거치지 않는다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface Idempotent {
+}
@@ -0,0 +1,65 @@
+package com.zerobase.account.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 비동기 거래 처리 모드 (account.web.async.enabled=true)
+ * /async/transaction/** 요청은 Tomcat 스레드를 바로 돌려주고 transactionExecutor 에서 처리한다.
+ * - Java 21 이상이고 virtual-threads=true 이면 요청마다 virtual thread 를 쓴다.
+ * - 그 외에는 고정 크기 platform thread pool 을 쓴다.
+ *   현재 빌드 대상인 Java 11 에서는 항상 이 경우로, 막히는 작업이 Tomcat 스레드에서
+ *   pool-size 개의 다른 스레드로 옮겨질 뿐이라 동시 처리량 이점이 없다. (Java 21 이상에서 켤 것)
+ * pool 과 큐가 가득 차 거절된 요청은 SERVICE_BUSY 로 응답한다. (GlobalException)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "account.web.async", name = "enabled", havingValue = "true")
+public class AsyncWebConfiguration {
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService transactionExecutor(
+			@Value("${account.web.async.virtual-threads:true}") boolean virtualThreads,
+			@Value("${account.web.async.pool-size:200}") int poolSize,
+			@Value("${account.web.async.queue-capacity:10000}") int queueCapacity) {
+		if (virtualThreads) {
+			ExecutorService executor = newVirtualThreadPerTaskExecutor();
+			if (executor != null) {
+				log.info("Async transaction executor : virtual threads");
+				return executor;
+			}
+			log.info("Virtual threads are not available on Java {}, using a platform thread pool",
+					System.getProperty("java.specification.version"));
+		}
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(
+				poolSize, poolSize, 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(queueCapacity),
+				new CustomizableThreadFactory("transaction-async-"));
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Java 11 로 컴파일하므로 Java 21 API 는 reflection 으로 호출한다.
+	 */
+	private static ExecutorService newVirtualThreadPerTaskExecutor() {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package com.zerobase.account.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 작업 (BalanceLedger checkpoint, 일별 거래 집계, 거래 보관 등) 활성화
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -5,6 +5,7 @@ import java.util.stream.Collectors;
 
 import javax.validation.Valid;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,6 +19,7 @@ import com.zerobase.account.dto.AccountInfo;
 import com.zerobase.account.dto.CreateAccount;
 import com.zerobase.account.dto.DeleteAccount;
 import com.zerobase.account.service.AccountService;
+import com.zerobase.account.service.BalanceLedger;
 
 import lombok.RequiredArgsConstructor;
 
@@ -25,6 +27,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AccountController {
 	private final AccountService accountService;
+	private final ObjectProvider<BalanceLedger> balanceLedger;
 	
 	@GetMapping("/account")
 	public List<AccountInfo> getAccountByUserId(
@@ -54,10 +57,23 @@ public class AccountController {
 		);
 	}
 	
+	/**
+	 * ledger 사용 시에는 ledger 잔액을 반영하고 내려놓은 뒤 해지한다.
+	 */
 	@DeleteMapping("/account")
 	public DeleteAccount.Response deleteAccount (
 			@RequestBody @Valid DeleteAccount.Request request
 	) {
+		BalanceLedger ledger = balanceLedger.getIfAvailable();
+		if (ledger != null) {
+			return DeleteAccount.Response.from(
+					ledger.runExclusive(request.getAccountNumber(),
+							() -> accountService.deleteAccount(
+									request.getUserId(),
+									request.getAccountNumber()))
+			);
+		}
+		
 		return DeleteAccount.Response.from(
 				accountService.deleteAccount(
 				    request.getUserId(),
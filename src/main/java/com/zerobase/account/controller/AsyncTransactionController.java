@@ -0,0 +1,67 @@
+package com.zerobase.account.controller;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.zerobase.account.dto.CancelBalance;
+import com.zerobase.account.dto.UseBalance;
+
+/**
+ * 비동기 잔액 사용 / 취소 (account.web.async.enabled=true 일 때만 등록)
+ * TransactionController 빈(프록시)을 transactionExecutor 스레드에서 호출하므로
+ * 계좌 lock(@AccountLock) 대기와 DB 처리는 요청 스레드가 아닌 작업 스레드에서 일어난다.
+ * 실패 응답은 동기 API 와 같이 GlobalException 에서 만든다.
+ * 응답 시간 한도(account.web.async.timeout)는 MVC 전역 async timeout 대신 요청마다 건다.
+ * 전역 값은 export 스트리밍 응답이 쓴다.
+ * 한도를 넘겨도 작업 스레드의 처리는 멈추지 않고 커밋될 수 있으므로 TRANSACTION_RESULT_UNKNOWN 으로 응답한다.
+ * 같은 Idempotency-Key 로 재요청하면 처리 중에는 IDEMPOTENCY_KEY_IN_USE, 끝난 뒤에는 저장된 결과를 받는다.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "account.web.async", name = "enabled", havingValue = "true")
+public class AsyncTransactionController {
+	private final TransactionController transactionController;
+	private final ExecutorService transactionExecutor;
+	private final long timeout;
+
+	public AsyncTransactionController(
+			TransactionController transactionController,
+			@Qualifier("transactionExecutor") ExecutorService transactionExecutor,
+			@Value("${account.web.async.timeout:30000}") long timeout) {
+		this.transactionController = transactionController;
+		this.transactionExecutor = transactionExecutor;
+		this.timeout = timeout;
+	}
+
+	@PostMapping("/async/transaction/use")
+	public CompletableFuture<UseBalance.Response> useBalance(
+		@Valid @RequestBody UseBalance.Request request,
+		@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+	) {
+		return CompletableFuture.supplyAsync(
+				() -> transactionController.useBalance(request, idempotencyKey),
+				transactionExecutor)
+				.orTimeout(timeout, TimeUnit.MILLISECONDS);
+	}
+
+	@PostMapping("/async/transaction/cancel")
+	public CompletableFuture<CancelBalance.Response> cancelBalance(
+		@Valid @RequestBody CancelBalance.Request request,
+		@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+	) {
+		return CompletableFuture.supplyAsync(
+				() -> transactionController.cancelBalance(request, idempotencyKey),
+				transactionExecutor)
+				.orTimeout(timeout, TimeUnit.MILLISECONDS);
+	}
+}
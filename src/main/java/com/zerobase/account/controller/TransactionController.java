@@ -1,19 +1,40 @@
 package com.zerobase.account.controller;
 
+import java.time.LocalDate;
+
 import javax.validation.Valid;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.zerobase.account.aop.AccountLock;
+import com.zerobase.account.aop.Idempotent;
+import com.zerobase.account.dto.BatchTransaction;
 import com.zerobase.account.dto.CancelBalance;
+import com.zerobase.account.dto.DailySummary;
 import com.zerobase.account.dto.QueryTransactionResponse;
+import com.zerobase.account.dto.TransactionHistory;
 import com.zerobase.account.dto.UseBalance;
 import com.zerobase.account.exception.AccountException;
+import com.zerobase.account.service.BalanceLedger;
+import com.zerobase.account.service.BatchTransactionService;
+import com.zerobase.account.service.FailedTransactionJournal;
+import com.zerobase.account.service.TransactionExportService;
 import com.zerobase.account.service.TransactionService;
+import com.zerobase.account.service.TransactionSummaryService;
+import com.zerobase.account.type.ExportFormat;
+import com.zerobase.account.type.TransactionType;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,12 +44,21 @@ import lombok.extern.slf4j.Slf4j;
  * 1. 잔액 사용
  * 2. 잔액 사용 취소
  * 3. 거래 확인
+ * 4. 일괄 잔액 사용 / 취소
+ * 5. 계좌 거래 내역
+ * 6. 전체 거래 export
+ * 7. 계좌 일별 거래 집계
  */
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class TransactionController {
 	private final TransactionService transactionService;
+	private final BatchTransactionService batchTransactionService;
+	private final FailedTransactionJournal failedTransactionJournal;
+	private final TransactionExportService transactionExportService;
+	private final TransactionSummaryService transactionSummaryService;
+	private final ObjectProvider<BalanceLedger> balanceLedger;
 	
 	@GetMapping("/transaction/{transactionId}")
 	public QueryTransactionResponse queryTransaction(
@@ -39,19 +69,77 @@ public class TransactionController {
 		);
 	}
 	
+	/**
+	 * 계좌 거래 내역 (최신순)
+	 * 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지를 조회한다.
+	 */
+	@GetMapping("/account/{accountNumber}/transactions")
+	public TransactionHistory.Response getTransactionHistory(
+		@PathVariable String accountNumber,
+		@RequestParam(required = false) String cursor,
+		@RequestParam(defaultValue = "20") int size
+	) {
+		return transactionService.getTransactionHistory(accountNumber, cursor, size);
+	}
+	
+	/**
+	 * 계좌 일별 거래 집계 (from, to : yyyy-MM-dd, 기본은 오늘까지 최근 30일)
+	 */
+	@GetMapping("/account/{accountNumber}/summary")
+	public DailySummary.Response getDailySummary(
+		@PathVariable String accountNumber,
+		@RequestParam(required = false)
+		@DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+		@RequestParam(required = false)
+		@DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+	) {
+		return transactionSummaryService.getDailySummary(accountNumber, from, to);
+	}
+	
+	/**
+	 * 전체 거래 export (format : csv, ndjson)
+	 * 응답 본문은 요청 스레드가 아닌 MVC 비동기 스레드에서 조회하면서 바로 내려보낸다.
+	 */
+	@GetMapping("/transaction/export")
+	public ResponseEntity<StreamingResponseBody> exportTransactions(
+		@RequestParam(defaultValue = "csv") String format
+	) {
+		ExportFormat exportFormat = ExportFormat.from(format);
+		
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						"attachment; filename=\"transactions." + exportFormat.getExtension() + "\"")
+				.body(outputStream ->
+						transactionExportService.export(exportFormat, outputStream));
+	}
+	
+	/**
+	 * 잔액 사용
+	 * Idempotency-Key 헤더가 같은 재시도에는 처음 응답을 그대로 돌려준다. (@Idempotent)
+	 */
 	@PostMapping("/transaction/use")
+	@Idempotent
 	@AccountLock
 	public UseBalance.Response useBalance(
-		@Valid @RequestBody UseBalance.Request request
-	) throws InterruptedException {
+		@Valid @RequestBody UseBalance.Request request,
+		@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+	) {
 		try {
 //			Thread.sleep(3000L); // 동시성 테스트를 위해 삽입 
-			return UseBalance.Response.from(transactionService.useBalance(request.getUserId()
-					, request.getAccountNumber(), request.getAmount()));
+			BalanceLedger ledger = balanceLedger.getIfAvailable();
+			return UseBalance.Response.from(ledger != null
+					? ledger.use(request.getUserId(),
+							request.getAccountNumber(), request.getAmount())
+					: transactionService.useBalance(request.getUserId()
+							, request.getAccountNumber(), request.getAmount()));
 		} catch (AccountException e) {
-			log.error("Failed to use balance.");
+			log.debug("Failed to use balance. errorCode : {}", e.getErrorCode());
 			
-			transactionService.saveFailedUseTransaction(
+			// AccountException 은 반영되지 않은 요청에만 발생한다.
+			// (DB 경로는 롤백, ledger 는 시작 전에 취소한 요청만 시간 초과로 실패시킴)
+			failedTransactionJournal.record(
+				TransactionType.USE,
 				request.getAccountNumber(),
 				request.getAmount()
 			);
@@ -62,26 +150,36 @@ public class TransactionController {
 	
 	/**
 	 * 거래 취소
-	 * 부분 취소, 중복 취소 로직은 고려하지 않음 
+	 * 부분 취소 가능, 누적 취소 금액이 원 거래 금액을 넘거나 이미 전액 취소된 거래는 실패한다.
 	 * @param request
+	 * @param idempotencyKey 재시도 구분용 키 (선택)
 	 * @return
 	 */
 	@PostMapping("/transaction/cancel")
+	@Idempotent
 	@AccountLock
 	public CancelBalance.Response cancelBalance(
-		@Valid @RequestBody CancelBalance.Request request
+		@Valid @RequestBody CancelBalance.Request request,
+		@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
 	) {
 		try {
-			return CancelBalance.Response.from(
-					transactionService.cancelBalance(
+			BalanceLedger ledger = balanceLedger.getIfAvailable();
+			return CancelBalance.Response.from(ledger != null
+					? ledger.cancel(
+							request.getTransactionId(),
+							request.getAccountNumber(),
+							request.getAmount())
+					: transactionService.cancelBalance(
 							request.getTransactionId(),
 							request.getAccountNumber(),
 							request.getAmount())
 			);
 		} catch (AccountException e) {
-			log.error("Failed to use balance");
+			log.debug("Failed to cancel balance. errorCode : {}", e.getErrorCode());
 			
-			transactionService.saveFailedCancelTransaction(
+			// 반영되지 않은 요청만 기록한다. (useBalance 참고)
+			failedTransactionJournal.record(
+				TransactionType.CANCEL,
 				request.getAccountNumber(),
 				request.getAmount()
 			);
@@ -89,4 +187,17 @@ public class TransactionController {
 			throw e;
 		}
 	}
+	
+	/**
+	 * 일괄 거래
+	 * 항목별로 성공/실패 결과를 요청 순서대로 응답한다.
+	 * @param request
+	 * @return
+	 */
+	@PostMapping("/transaction/batch")
+	public BatchTransaction.Response batchTransaction(
+		@Valid @RequestBody BatchTransaction.Request request
+	) {
+		return batchTransactionService.process(request.getItems());
+	}
 }
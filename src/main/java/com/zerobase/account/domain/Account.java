@@ -5,7 +5,11 @@ import java.time.LocalDateTime;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.Version;
 
 import com.zerobase.account.exception.AccountException;
 import com.zerobase.account.type.AccountStatus;
@@ -23,8 +27,12 @@ import lombok.Setter;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+	@Index(name = "ux_account_account_number", columnList = "account_number", unique = true),
+	@Index(name = "ix_account_account_user_id", columnList = "account_user_id")
+})
 public class Account extends BaseEntity {
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private AccountUser accountUser;
 	private String accountNumber;
 
@@ -35,6 +43,13 @@ public class Account extends BaseEntity {
 	private LocalDateTime registeredAt;
 	private LocalDateTime unRegisteredAt;
 
+	/**
+	 * 엔티티를 읽어서 수정 후 저장하는 경로의 lost update 방지용
+	 * 잔액 UPDATE 쿼리도 함께 증가시킨다.
+	 */
+	@Version
+	private Long version;
+
 	public void useBalance(Long amount) {
 		if (amount > balance) {
 			throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
@@ -0,0 +1,27 @@
+package com.zerobase.account.domain;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 계좌번호 발급 시퀀스
+ * nextValue 는 아직 어떤 노드에도 예약되지 않은 첫 번째 계좌번호
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+public class AccountNumberSequence {
+	@Id
+	private String name;
+
+	private Long nextValue;
+}
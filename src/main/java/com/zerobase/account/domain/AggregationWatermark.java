@@ -0,0 +1,28 @@
+package com.zerobase.account.domain;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 집계 / 보관 작업별 진행 위치
+ * lastTransactionId 는 마지막으로 처리한 Transaction id
+ * (일별 집계는 거래마다 집계 여부를 남기므로 참고용이고, row 는 여러 노드의 동시 실행을 막는 lock 이다)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+public class AggregationWatermark {
+	@Id
+	private String name;
+
+	private Long lastTransactionId;
+}
@@ -7,6 +7,9 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -25,8 +28,21 @@ import lombok.Setter;
 @Builder(builderMethodName = "doesNotUseThisBuilder")
 @EntityListeners(AuditingEntityListener.class)
 public class BaseEntity {
+	/**
+	 * 엔티티별 시퀀스에서 50개씩 id 를 미리 받아 쓴다. (pooled-lo)
+	 * IDENTITY 와 달리 insert 전에 id 가 정해지므로 JDBC batch insert 가 가능하다.
+	 */
 	@Id
-	@GeneratedValue
+	@GeneratedValue(generator = "pooled_sequence")
+	@GenericGenerator(
+		name = "pooled_sequence",
+		strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+		parameters = {
+			@Parameter(name = SequenceStyleGenerator.CONFIG_PREFER_SEQUENCE_PER_ENTITY, value = "true"),
+			@Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+			@Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+		}
+	)
 	private Long id;
 
 	@CreatedDate
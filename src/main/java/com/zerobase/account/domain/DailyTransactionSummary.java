@@ -0,0 +1,56 @@
+package com.zerobase.account.domain;
+
+import java.time.LocalDate;
+
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.Index;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import com.zerobase.account.type.TransactionResultType;
+import com.zerobase.account.type.TransactionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 계좌별 일별 거래 집계 (계좌, 거래일, 거래 종류, 거래 결과 별 한 건)
+ * TransactionSummaryService 가 Transaction 을 id 순으로 읽어 누적한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(indexes = {
+	// 집계 누적 대상 조회와 계좌별 기간 조회
+	@Index(name = "ux_daily_transaction_summary_account_id_summary_date_type_result",
+			columnList = "account_id, summary_date, transaction_type, transaction_result_type",
+			unique = true)
+})
+public class DailyTransactionSummary extends BaseEntity {
+	@ManyToOne(fetch = FetchType.LAZY)
+	private Account account;
+
+	private LocalDate summaryDate;
+
+	@Enumerated(EnumType.STRING)
+	private TransactionType transactionType;
+	@Enumerated(EnumType.STRING)
+	private TransactionResultType transactionResultType;
+
+	private Long transactionCount;
+	private Long totalAmount;
+
+	public void add(long count, long amount) {
+		transactionCount += count;
+		totalAmount += amount;
+	}
+}
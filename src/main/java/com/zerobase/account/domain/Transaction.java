@@ -2,11 +2,18 @@ package com.zerobase.account.domain;
 
 import java.time.LocalDateTime;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.Version;
 
+import com.zerobase.account.exception.AccountException;
+import com.zerobase.account.type.ErrorCode;
 import com.zerobase.account.type.TransactionResultType;
 import com.zerobase.account.type.TransactionType;
 
@@ -22,13 +29,25 @@ import lombok.Setter;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+	@Index(name = "ux_transaction_transaction_id", columnList = "transaction_id", unique = true),
+	// 계좌별 조회와 거래 내역 keyset 페이지 조회 (account_id 단독 조회도 이 인덱스를 탄다)
+	@Index(name = "ix_transaction_account_id_transacted_at_id",
+			columnList = "account_id, transacted_at, id"),
+	// 취소 거래 -> 원 거래 연결. 누적 취소 금액이 같은 취소는 한 번만 기록된다.
+	// (누적 금액이 서로 다른 동시 부분 취소는 version 으로 막는다)
+	@Index(name = "ux_transaction_original_transaction_id_cancelled_amount",
+			columnList = "original_transaction_id, cancelled_amount", unique = true),
+	// 아직 집계하지 않은 거래 조회 (TransactionSummaryService)
+	@Index(name = "ix_transaction_aggregated_id", columnList = "aggregated, id")
+})
 public class Transaction extends BaseEntity {
 	@Enumerated(EnumType.STRING)
 	private TransactionType transactionType;
 	@Enumerated(EnumType.STRING)
 	private TransactionResultType transactionResultType;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private Account account;
 
 	private Long amount;
@@ -36,4 +55,60 @@ public class Transaction extends BaseEntity {
 
 	private String transactionId;
 	private LocalDateTime transactedAt;
+
+	/**
+	 * CANCEL 거래 : 취소한 원 사용 거래의 transactionId
+	 */
+	private String originalTransactionId;
+	/**
+	 * USE 거래 : 지금까지 취소된 누적 금액
+	 * CANCEL 거래 : 이 취소까지 반영한 원 거래의 누적 취소 금액
+	 */
+	private Long cancelledAmount;
+
+	/**
+	 * 원 거래를 읽어서 누적 취소 금액을 바꾸는 경로의 lost update 방지용
+	 * (동시에 들어온 부분 취소가 서로의 누적 금액을 덮어쓰지 않도록)
+	 */
+	@Version
+	private Long version;
+
+	/**
+	 * 일별 집계에 반영했는지 여부, 집계와 같은 트랜잭션에서 bulk update 로만 바꾼다.
+	 * 원 거래를 읽어서 고치는 경로가 이 값을 덮어쓰지 않도록 엔티티 update 에서는 제외한다.
+	 */
+	@Column(updatable = false)
+	private boolean aggregated;
+
+	public long getRemainingAmount() {
+		return amount - (cancelledAmount == null ? 0L : cancelledAmount);
+	}
+
+	/**
+	 * 성공한 사용 거래만 취소할 수 있다.
+	 * 부분 취소 가능, 누적 취소 금액은 거래 금액을 넘을 수 없다.
+	 */
+	public void validateCancelAmount(Long cancelAmount) {
+		if (transactionType != TransactionType.USE
+				|| transactionResultType != TransactionResultType.S) {
+			throw new AccountException(ErrorCode.TRANSACTION_NOT_CANCELLABLE);
+		}
+		if (cancelAmount == null || cancelAmount <= 0) {
+			throw new AccountException(ErrorCode.INVALID_REQUEST);
+		}
+
+		long remainingAmount = getRemainingAmount();
+		if (remainingAmount == 0) {
+			throw new AccountException(ErrorCode.TRANSACTION_ALREADY_CANCELLED);
+		}
+		if (cancelAmount > remainingAmount) {
+			throw new AccountException(ErrorCode.CANCEL_AMOUNT_EXCEED_REMAINING);
+		}
+	}
+
+	public void cancel(Long cancelAmount) {
+		validateCancelAmount(cancelAmount);
+
+		cancelledAmount = (cancelledAmount == null ? 0L : cancelledAmount) + cancelAmount;
+	}
 }
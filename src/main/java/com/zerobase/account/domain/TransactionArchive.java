@@ -0,0 +1,80 @@
+package com.zerobase.account.domain;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import com.zerobase.account.type.TransactionResultType;
+import com.zerobase.account.type.TransactionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 취소 가능 기간이 지나 transaction 테이블에서 옮겨진 거래 (TransactionArchiveService)
+ * id 와 생성/수정 시각은 원래 거래의 값을 그대로 가져오므로 BaseEntity 를 쓰지 않는다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(indexes = {
+	@Index(name = "ux_transaction_archive_transaction_id", columnList = "transaction_id", unique = true),
+	@Index(name = "ix_transaction_archive_account_id_transacted_at_id",
+			columnList = "account_id, transacted_at, id")
+})
+public class TransactionArchive {
+	@Id
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	private TransactionType transactionType;
+	@Enumerated(EnumType.STRING)
+	private TransactionResultType transactionResultType;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	private Account account;
+
+	private Long amount;
+	private Long balanceSnapshot;
+
+	private String transactionId;
+	private LocalDateTime transactedAt;
+
+	private String originalTransactionId;
+	private Long cancelledAmount;
+
+	private LocalDateTime createdAt;
+	private LocalDateTime updatedAt;
+	private LocalDateTime archivedAt;
+
+	public static TransactionArchive from(Transaction transaction, LocalDateTime archivedAt) {
+		return TransactionArchive.builder()
+				.id(transaction.getId())
+				.transactionType(transaction.getTransactionType())
+				.transactionResultType(transaction.getTransactionResultType())
+				.account(transaction.getAccount())
+				.amount(transaction.getAmount())
+				.balanceSnapshot(transaction.getBalanceSnapshot())
+				.transactionId(transaction.getTransactionId())
+				.transactedAt(transaction.getTransactedAt())
+				.originalTransactionId(transaction.getOriginalTransactionId())
+				.cancelledAmount(transaction.getCancelledAmount())
+				.createdAt(transaction.getCreatedAt())
+				.updatedAt(transaction.getUpdatedAt())
+				.archivedAt(archivedAt)
+				.build();
+	}
+}
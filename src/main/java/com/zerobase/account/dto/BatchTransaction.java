@@ -0,0 +1,114 @@
+package com.zerobase.account.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import com.zerobase.account.type.ErrorCode;
+import com.zerobase.account.type.TransactionResultType;
+import com.zerobase.account.type.TransactionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+public class BatchTransaction {
+	@Getter
+	@Setter
+	@AllArgsConstructor
+	@NoArgsConstructor
+	public static class Request {
+		@Valid
+		@NotEmpty
+		@Size(max = 1000)
+		private List<Item> items;
+	}
+
+	/**
+	 * USE 는 userId, CANCEL 은 transactionId 가 필요하다.
+	 */
+	@Getter
+	@Setter
+	@AllArgsConstructor
+	@NoArgsConstructor
+	public static class Item {
+		@NotNull
+		private TransactionType transactionType;
+
+		private Long userId;
+
+		private String transactionId;
+
+		@NotBlank
+		@Size(min = 10, max = 10)
+		private String accountNumber;
+
+		@NotNull
+		@Min(0)
+		@Max(1_000_000_000)
+		private Long amount;
+	}
+
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class Result {
+		private String accountNumber;
+		private TransactionType transactionType;
+		private TransactionResultType transactionResult;
+		private String transactionId;
+		private Long amount;
+		private LocalDateTime transactedAt;
+		private ErrorCode errorCode;
+		private String errorMessage;
+
+		/**
+		 * 거래 내역이 남은 항목 (성공 또는 실패 거래)
+		 */
+		public static Result from(TransactionDto transactionDto, ErrorCode errorCode) {
+			return Result.builder()
+					.accountNumber(transactionDto.getAccountNumber())
+					.transactionType(transactionDto.getTransactionType())
+					.transactionResult(transactionDto.getTransactionResultType())
+					.transactionId(transactionDto.getTransactionId())
+					.amount(transactionDto.getAmount())
+					.transactedAt(transactionDto.getTransactedAt())
+					.errorCode(errorCode)
+					.errorMessage(errorCode == null ? null : errorCode.getDescription())
+					.build();
+		}
+
+		/**
+		 * 계좌 lock 실패, 계좌 없음 등으로 거래 내역을 남기지 못한 항목
+		 */
+		public static Result fail(Item item, ErrorCode errorCode) {
+			return Result.builder()
+					.accountNumber(item.getAccountNumber())
+					.transactionType(item.getTransactionType())
+					.transactionResult(TransactionResultType.F)
+					.amount(item.getAmount())
+					.errorCode(errorCode)
+					.errorMessage(errorCode.getDescription())
+					.build();
+		}
+	}
+
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Response {
+		private List<Result> results;
+	}
+}
@@ -0,0 +1,53 @@
+package com.zerobase.account.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.zerobase.account.domain.DailyTransactionSummary;
+import com.zerobase.account.type.TransactionResultType;
+import com.zerobase.account.type.TransactionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+public class DailySummary {
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class Item {
+		private LocalDate date;
+		private TransactionType transactionType;
+		private TransactionResultType transactionResult;
+		private Long transactionCount;
+		private Long totalAmount;
+
+		public static Item from(DailyTransactionSummary summary) {
+			return Item.builder()
+					.date(summary.getSummaryDate())
+					.transactionType(summary.getTransactionType())
+					.transactionResult(summary.getTransactionResultType())
+					.transactionCount(summary.getTransactionCount())
+					.totalAmount(summary.getTotalAmount())
+					.build();
+		}
+	}
+
+	/**
+	 * 집계는 주기적으로 반영되므로 최근 거래는 아직 포함되지 않았을 수 있다.
+	 */
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Response {
+		private String accountNumber;
+		private LocalDate from;
+		private LocalDate to;
+		private List<Item> summaries;
+	}
+}
@@ -0,0 +1,29 @@
+package com.zerobase.account.dto;
+
+import java.time.LocalDateTime;
+
+import com.zerobase.account.type.TransactionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 실패 거래 기록 요청
+ * 계좌 조회와 저장은 FailedTransactionJournal 의 writer 스레드에서 모아서 처리한다.
+ * transactedAt 은 실패한 시각으로, 기록이 늦어져도 거래 내역 순서가 바뀌지 않도록 요청 스레드에서 정한다.
+ * (실패 경로에서는 잔액을 읽지 않으므로 balanceSnapshot 은 기록 시점의 계좌 잔액이다)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FailedTransaction {
+	private TransactionType transactionType;
+	private String accountNumber;
+	private Long amount;
+	private LocalDateTime transactedAt;
+}
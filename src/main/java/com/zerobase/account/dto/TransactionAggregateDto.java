@@ -0,0 +1,29 @@
+package com.zerobase.account.dto;
+
+import java.time.LocalDateTime;
+
+import com.zerobase.account.type.TransactionResultType;
+import com.zerobase.account.type.TransactionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 일별 집계용 projection (TransactionRepository.findNotAggregated)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionAggregateDto {
+	private Long id;
+	private Long accountId;
+	private TransactionType transactionType;
+	private TransactionResultType transactionResultType;
+	private Long amount;
+	private LocalDateTime transactedAt;
+}
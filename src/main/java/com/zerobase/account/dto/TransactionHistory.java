@@ -0,0 +1,95 @@
+package com.zerobase.account.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+import com.zerobase.account.exception.AccountException;
+import com.zerobase.account.type.ErrorCode;
+import com.zerobase.account.type.TransactionResultType;
+import com.zerobase.account.type.TransactionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+public class TransactionHistory {
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class Item {
+		private TransactionType transactionType;
+		private TransactionResultType transactionResult;
+		private String transactionId;
+		private Long amount;
+		private Long balanceSnapshot;
+		private LocalDateTime transactedAt;
+
+		public static Item from(TransactionHistoryDto transactionHistoryDto) {
+			return Item.builder()
+					.transactionType(transactionHistoryDto.getTransactionType())
+					.transactionResult(transactionHistoryDto.getTransactionResultType())
+					.transactionId(transactionHistoryDto.getTransactionId())
+					.amount(transactionHistoryDto.getAmount())
+					.balanceSnapshot(transactionHistoryDto.getBalanceSnapshot())
+					.transactedAt(transactionHistoryDto.getTransactedAt())
+					.build();
+		}
+	}
+
+	/**
+	 * nextCursor 가 null 이면 마지막 페이지
+	 */
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Response {
+		private String accountNumber;
+		private List<Item> transactions;
+		private String nextCursor;
+	}
+
+	/**
+	 * 마지막으로 내려준 거래의 (transactedAt, id)
+	 * 클라이언트에는 base64url 문자열로만 전달한다.
+	 */
+	@Getter
+	@AllArgsConstructor
+	public static class Cursor {
+		private static final String SEPARATOR = "|";
+
+		private final LocalDateTime transactedAt;
+		private final Long id;
+
+		public static Cursor from(TransactionHistoryDto transactionHistoryDto) {
+			return new Cursor(transactionHistoryDto.getTransactedAt(),
+					transactionHistoryDto.getId());
+		}
+
+		public String encode() {
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(
+					(transactedAt + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+		}
+
+		public static Cursor decode(String cursor) {
+			try {
+				String decoded = new String(
+						Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+				int separator = decoded.indexOf(SEPARATOR);
+				return new Cursor(
+						LocalDateTime.parse(decoded.substring(0, separator)),
+						Long.valueOf(decoded.substring(separator + 1)));
+			} catch (IllegalArgumentException | DateTimeParseException
+					| IndexOutOfBoundsException e) {
+				throw new AccountException(ErrorCode.INVALID_REQUEST);
+			}
+		}
+	}
+}
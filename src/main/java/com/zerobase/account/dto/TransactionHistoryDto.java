@@ -0,0 +1,31 @@
+package com.zerobase.account.dto;
+
+import java.time.LocalDateTime;
+
+import com.zerobase.account.type.TransactionResultType;
+import com.zerobase.account.type.TransactionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 계좌 거래 내역 조회용 projection (TransactionRepository.findHistory*)
+ * id 는 다음 페이지 cursor 를 만들 때만 사용한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionHistoryDto {
+	private Long id;
+	private TransactionType transactionType;
+	private TransactionResultType transactionResultType;
+	private Long amount;
+	private Long balanceSnapshot;
+	private String transactionId;
+	private LocalDateTime transactedAt;
+}
@@ -2,23 +2,31 @@ package com.zerobase.account.exception;
 
 import com.zerobase.account.type.ErrorCode;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
-import lombok.Setter;
 
+/**
+ * 업무 오류(ErrorCode.isBusiness)는 잔액 부족 등으로 자주 발생하고 응답 코드만 필요하므로
+ * 스택 트레이스를 채우지 않는다. 서버 장애 코드는 원인 추적을 위해 스택 트레이스를 남긴다.
+ */
 @SuppressWarnings("serial")
 @Getter
-@Setter
-@AllArgsConstructor
-@Builder
 public class AccountException extends RuntimeException {
 	private final ErrorCode errorCode;
 	private final String errorMessage;
 
 	public AccountException(ErrorCode errorCode) {
+		this(errorCode, errorCode.getDescription());
+	}
+
+	@Builder
+	public AccountException(ErrorCode errorCode, String errorMessage) {
+		super(errorMessage, null, !isBusiness(errorCode), !isBusiness(errorCode));
 		this.errorCode = errorCode;
-		this.errorMessage = errorCode.getDescription();
+		this.errorMessage = errorMessage;
 	}
 
+	private static boolean isBusiness(ErrorCode errorCode) {
+		return errorCode != null && errorCode.isBusiness();
+	}
 }
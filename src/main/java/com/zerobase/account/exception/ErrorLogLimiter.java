@@ -0,0 +1,42 @@
+package com.zerobase.account.exception;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 1초 단위 창마다 최대 maxPerSecond 건까지만 로그를 허용한다.
+ * 생략된 건수는 다음에 허용되는 로그에 함께 남긴다.
+ */
+class ErrorLogLimiter {
+	static final long SUPPRESSED = -1L;
+
+	private static final long WINDOW_NANOS = 1_000_000_000L;
+
+	private final int maxPerSecond;
+	private final AtomicLong windowStartedAt;
+	private final AtomicInteger logged = new AtomicInteger();
+	private final AtomicLong suppressed = new AtomicLong();
+
+	ErrorLogLimiter(int maxPerSecond) {
+		this.maxPerSecond = maxPerSecond;
+		this.windowStartedAt = new AtomicLong(System.nanoTime());
+	}
+
+	/**
+	 * @return 로그를 남겨도 되면 직전까지 생략된 건수, 아니면 SUPPRESSED
+	 */
+	long tryAcquire(long now) {
+		long startedAt = windowStartedAt.get();
+		if (now - startedAt >= WINDOW_NANOS
+				&& windowStartedAt.compareAndSet(startedAt, now)) {
+			logged.set(0);
+		}
+
+		if (logged.incrementAndGet() <= maxPerSecond) {
+			return suppressed.getAndSet(0);
+		}
+
+		suppressed.incrementAndGet();
+		return SUPPRESSED;
+	}
+}
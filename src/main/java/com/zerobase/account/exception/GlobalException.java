@@ -1,6 +1,13 @@
 package com.zerobase.account.exception;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -8,15 +15,45 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import com.zerobase.account.dto.ErrorResponse;
 import com.zerobase.account.type.ErrorCode;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * 응답한 ErrorCode 별로 account.errors{code} 카운터를 올린다.
+ * 업무 오류는 건수는 카운터로 보고, 로그는 코드별로 초당 account.error-log.max-per-second 건까지만 WARN 으로 남긴다.
+ */
 @Slf4j
 @RestControllerAdvice
 public class GlobalException {
+	private final Map<ErrorCode, Counter> errorCounters = new EnumMap<>(ErrorCode.class);
+	private final Map<ErrorCode, ErrorLogLimiter> logLimiters = new EnumMap<>(ErrorCode.class);
+
+	public GlobalException(
+			MeterRegistry meterRegistry,
+			@Value("${account.error-log.max-per-second:10}") int maxLogsPerSecond) {
+		for (ErrorCode errorCode : ErrorCode.values()) {
+			errorCounters.put(errorCode, Counter.builder("account.errors")
+					.tag("code", errorCode.name())
+					.register(meterRegistry));
+			logLimiters.put(errorCode, new ErrorLogLimiter(maxLogsPerSecond));
+		}
+	}
+
 	@ExceptionHandler(AccountException.class)
 	public ErrorResponse handleAccountException(AccountException e) {
-		log.error("{} is occured", e.getErrorCode());
-		return new ErrorResponse(e.getErrorCode(), e.getErrorMessage());
+		ErrorCode errorCode = e.getErrorCode();
+		if (errorCode.isBusiness()) {
+			long suppressed = logLimiters.get(errorCode).tryAcquire(System.nanoTime());
+			if (suppressed != ErrorLogLimiter.SUPPRESSED) {
+				log.warn("account.error code={} message=\"{}\" suppressed={}",
+						errorCode, e.getErrorMessage(), suppressed);
+			}
+		} else {
+			log.error("account.error code={} message=\"{}\"",
+					errorCode, e.getErrorMessage(), e);
+		}
+		return errorResponse(errorCode, e.getErrorMessage());
 	}
 	
 	@ExceptionHandler(MethodArgumentNotValidException.class)
@@ -24,7 +61,7 @@ public class GlobalException {
 		MethodArgumentNotValidException e) {
 		log.error("MethodArgumentNotValidException: " + e);
 		
-		return new ErrorResponse(
+		return errorResponse(
 			ErrorCode.INVALID_REQUEST,
 			ErrorCode.INVALID_REQUEST.getDescription()
 		);
@@ -35,18 +72,55 @@ public class GlobalException {
 			DataIntegrityViolationException e) {
 		log.error("DataIntegrityViolationException : " + e);
 		
-		return new ErrorResponse(
+		return errorResponse(
 			ErrorCode.INVALID_REQUEST,
 			ErrorCode.INVALID_REQUEST.getDescription()
 		);
 	}
 
+	/**
+	 * 다른 요청이 먼저 계좌를 수정한 경우 (@Version 충돌)
+	 */
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ErrorResponse handleOptimisticLockingFailureException(
+			OptimisticLockingFailureException e) {
+		log.error("OptimisticLockingFailureException : " + e);
+		
+		return errorResponse(
+			ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+			ErrorCode.ACCOUNT_TRANSACTION_LOCK.getDescription()
+		);
+	}
+
+	/**
+	 * 작업 스레드 pool 과 큐가 가득 차 요청을 받지 못한 경우 (HTTP 503 에 해당)
+	 */
+	@ExceptionHandler(RejectedExecutionException.class)
+	public ErrorResponse handleRejectedExecutionException(
+			RejectedExecutionException e) {
+		return handleAccountException(new AccountException(ErrorCode.SERVICE_BUSY));
+	}
+
+	/**
+	 * 비동기 API 응답 시간 한도 초과, 작업은 계속 실행되어 커밋될 수 있으므로 실패로 응답하지 않는다.
+	 */
+	@ExceptionHandler(TimeoutException.class)
+	public ErrorResponse handleTimeoutException(TimeoutException e) {
+		return handleAccountException(
+				new AccountException(ErrorCode.TRANSACTION_RESULT_UNKNOWN));
+	}
+
 	@ExceptionHandler(Exception.class)
 	public ErrorResponse handleException(Exception e) {
 		log.error("Exception is occured: " + e);
-		return new ErrorResponse(
+		return errorResponse(
 			ErrorCode.INVALID_SERVER_ERROR,
 			ErrorCode.INVALID_SERVER_ERROR.getDescription()
 		);
 	}
+
+	private ErrorResponse errorResponse(ErrorCode errorCode, String errorMessage) {
+		errorCounters.get(errorCode).increment();
+		return new ErrorResponse(errorCode, errorMessage);
+	}
 }
@@ -0,0 +1,18 @@
+package com.zerobase.account.repository;
+
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import com.zerobase.account.domain.AccountNumberSequence;
+
+@Repository
+public interface AccountNumberSequenceRepository
+		extends JpaRepository<AccountNumberSequence, String> {
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	Optional<AccountNumberSequence> findByName(String name);
+}
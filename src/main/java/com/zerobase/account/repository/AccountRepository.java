@@ -1,9 +1,14 @@
 package com.zerobase.account.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.zerobase.account.domain.Account;
@@ -11,11 +16,98 @@ import com.zerobase.account.domain.AccountUser;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
-	Optional<Account> findFirstByOrderByIdDesc();
-	
-	Integer countByAccountUser(AccountUser AccountUser);
+	/**
+	 * 계좌 엔티티를 그대로 응답하는 경우 사용자까지 함께 조회
+	 */
+	@EntityGraph(attributePaths = "accountUser")
+	Optional<Account> findWithAccountUserById(Long id);
 
 	Optional<Account> findByAccountNumber(String AccountNumber);
 
+	boolean existsByAccountNumber(String accountNumber);
+
+	/**
+	 * 잔액 사용용 조회
+	 * 계좌번호와 소유주를 한 번에 확인한다. (account_user_id 컬럼 비교, 사용자 테이블 조인 없음)
+	 * 없으면 계좌가 없거나 소유주가 다른 경우다.
+	 */
+	@Query("select a from Account a "
+			+ "where a.accountNumber = :accountNumber "
+			+ "and a.accountUser.id = :userId")
+	Optional<Account> findByAccountNumberAndUserId(
+			@Param("accountNumber") String accountNumber,
+			@Param("userId") Long userId);
+
+	List<Account> findAllByAccountNumberIn(Collection<String> accountNumbers);
+
 	List<Account> findByAccountUser(AccountUser AccountUser);
+
+	/**
+	 * 잔액 확인과 차감을 UPDATE 한 번으로 처리한다.
+	 * 잔액이 부족하거나 사용 중인 계좌가 아니면 0 을 반환한다.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Account a "
+			+ "set a.balance = a.balance - :amount, "
+			+ "a.version = a.version + 1, "
+			+ "a.updatedAt = current_timestamp "
+			+ "where a.accountNumber = :accountNumber "
+			+ "and a.balance >= :amount "
+			+ "and a.accountStatus = com.zerobase.account.type.AccountStatus.IN_USE")
+	int decreaseBalance(
+			@Param("accountNumber") String accountNumber,
+			@Param("amount") Long amount);
+
+	/**
+	 * 읽은 이후 바뀌지 않은 계좌(version 일치)만 차감한다.
+	 * 1 이면 새 잔액은 읽은 잔액 - amount 이므로 다시 조회하지 않아도 된다.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Account a "
+			+ "set a.balance = a.balance - :amount, "
+			+ "a.version = a.version + 1, "
+			+ "a.updatedAt = current_timestamp "
+			+ "where a.id = :id "
+			+ "and a.version = :version "
+			+ "and a.balance >= :amount "
+			+ "and a.accountStatus = com.zerobase.account.type.AccountStatus.IN_USE")
+	int decreaseBalanceIfUnchanged(
+			@Param("id") Long id,
+			@Param("version") Long version,
+			@Param("amount") Long amount);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Account a "
+			+ "set a.balance = a.balance + :amount, "
+			+ "a.version = a.version + 1, "
+			+ "a.updatedAt = current_timestamp "
+			+ "where a.id = :id "
+			+ "and a.version = :version")
+	int increaseBalanceIfUnchanged(
+			@Param("id") Long id,
+			@Param("version") Long version,
+			@Param("amount") Long amount);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Account a "
+			+ "set a.balance = a.balance + :amount, "
+			+ "a.version = a.version + 1, "
+			+ "a.updatedAt = current_timestamp "
+			+ "where a.accountNumber = :accountNumber")
+	int increaseBalance(
+			@Param("accountNumber") String accountNumber,
+			@Param("amount") Long amount);
+
+	/**
+	 * BalanceLedger checkpoint 용 잔액 덮어쓰기
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Account a "
+			+ "set a.balance = :balance, "
+			+ "a.version = a.version + 1, "
+			+ "a.updatedAt = current_timestamp "
+			+ "where a.accountNumber = :accountNumber")
+	int updateBalance(
+			@Param("accountNumber") String accountNumber,
+			@Param("balance") Long balance);
 }
@@ -0,0 +1,21 @@
+package com.zerobase.account.repository;
+
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import com.zerobase.account.domain.AggregationWatermark;
+
+@Repository
+public interface AggregationWatermarkRepository
+		extends JpaRepository<AggregationWatermark, String> {
+	/**
+	 * 여러 노드가 같은 구간을 중복 집계하지 않도록 row lock 을 잡고 읽는다.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	Optional<AggregationWatermark> findByName(String name);
+}
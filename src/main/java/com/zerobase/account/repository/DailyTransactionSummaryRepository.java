@@ -0,0 +1,35 @@
+package com.zerobase.account.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.zerobase.account.domain.DailyTransactionSummary;
+
+@Repository
+public interface DailyTransactionSummaryRepository
+		extends JpaRepository<DailyTransactionSummary, Long> {
+	/**
+	 * 집계 한 묶음에 해당하는 기존 집계 (계좌 x 거래일 조합 중 있는 것만)
+	 */
+	@Query("select s from DailyTransactionSummary s "
+			+ "where s.account.id in :accountIds "
+			+ "and s.summaryDate in :summaryDates")
+	List<DailyTransactionSummary> findAllForAggregation(
+			@Param("accountIds") Collection<Long> accountIds,
+			@Param("summaryDates") Collection<LocalDate> summaryDates);
+
+	@Query("select s from DailyTransactionSummary s "
+			+ "where s.account.id = :accountId "
+			+ "and s.summaryDate between :from and :to "
+			+ "order by s.summaryDate, s.transactionType, s.transactionResultType")
+	List<DailyTransactionSummary> findByAccountIdAndSummaryDateBetween(
+			@Param("accountId") Long accountId,
+			@Param("from") LocalDate from,
+			@Param("to") LocalDate to);
+}
@@ -0,0 +1,77 @@
+package com.zerobase.account.repository;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.zerobase.account.domain.TransactionArchive;
+import com.zerobase.account.dto.TransactionDto;
+import com.zerobase.account.dto.TransactionHistoryDto;
+
+/**
+ * 보관된 거래 조회 (transaction 테이블에서 찾지 못한 경우에만 사용)
+ */
+@Repository
+public interface TransactionArchiveRepository extends JpaRepository<TransactionArchive, Long> {
+	boolean existsByTransactionId(String transactionId);
+
+	@Query("select new com.zerobase.account.dto.TransactionDto("
+			+ "a.accountNumber, t.transactionType, t.transactionResultType, "
+			+ "t.amount, t.balanceSnapshot, t.transactionId, t.transactedAt) "
+			+ "from TransactionArchive t join t.account a "
+			+ "where t.transactionId = :transactionId")
+	Optional<TransactionDto> findDtoByTransactionId(
+			@Param("transactionId") String transactionId);
+
+	@Query("select new com.zerobase.account.dto.TransactionHistoryDto("
+			+ "t.id, t.transactionType, t.transactionResultType, "
+			+ "t.amount, t.balanceSnapshot, t.transactionId, t.transactedAt) "
+			+ "from TransactionArchive t "
+			+ "where t.account.id = :accountId "
+			+ "order by t.transactedAt desc, t.id desc")
+	List<TransactionHistoryDto> findHistory(
+			@Param("accountId") Long accountId, Pageable pageable);
+
+	@Query("select new com.zerobase.account.dto.TransactionHistoryDto("
+			+ "t.id, t.transactionType, t.transactionResultType, "
+			+ "t.amount, t.balanceSnapshot, t.transactionId, t.transactedAt) "
+			+ "from TransactionArchive t "
+			+ "where t.account.id = :accountId "
+			+ "and (t.transactedAt < :transactedAt "
+			+ "or (t.transactedAt = :transactedAt and t.id < :id)) "
+			+ "order by t.transactedAt desc, t.id desc")
+	List<TransactionHistoryDto> findHistoryAfter(
+			@Param("accountId") Long accountId,
+			@Param("transactedAt") LocalDateTime transactedAt,
+			@Param("id") Long id,
+			Pageable pageable);
+
+	/**
+	 * 전체 거래 export 용 스트림 (id 순, transaction 테이블 다음에 읽는다.)
+	 * 엔티티가 아닌 DTO 로 읽어 영속성 컨텍스트에 쌓이지 않는다.
+	 * 트랜잭션 안에서 호출하고 사용 후 반드시 close 해야 한다.
+	 */
+	@QueryHints({
+		@QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+		@QueryHint(name = HINT_CACHEABLE, value = "false")
+	})
+	@Query("select new com.zerobase.account.dto.TransactionDto("
+			+ "a.accountNumber, t.transactionType, t.transactionResultType, "
+			+ "t.amount, t.balanceSnapshot, t.transactionId, t.transactedAt) "
+			+ "from TransactionArchive t join t.account a "
+			+ "order by t.id")
+	Stream<TransactionDto> streamAllForExport();
+}
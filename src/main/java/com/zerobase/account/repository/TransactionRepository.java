@@ -1,13 +1,145 @@
 package com.zerobase.account.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.zerobase.account.domain.Account;
 import com.zerobase.account.domain.Transaction;
+import com.zerobase.account.dto.TransactionAggregateDto;
+import com.zerobase.account.dto.TransactionDto;
+import com.zerobase.account.dto.TransactionHistoryDto;
+import com.zerobase.account.type.TransactionResultType;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long>{
 
 	Optional<Transaction> findByTransactionId(String TransactionId);
 
+	/**
+	 * 거래 취소용 조회, 원 거래의 계좌를 함께 가져온다.
+	 */
+	@EntityGraph(attributePaths = "account")
+	Optional<Transaction> findWithAccountByTransactionId(String transactionId);
+
+	List<Transaction> findAllByTransactionIdIn(Collection<String> transactionIds);
+
+	/**
+	 * BalanceLedger 잔액 복구용 마지막 거래
+	 */
+	Optional<Transaction> findFirstByAccountAndTransactionResultTypeOrderByIdDesc(
+			Account account, TransactionResultType transactionResultType);
+
+	/**
+	 * BalanceLedger 원 거래 누적 취소 금액 반영
+	 * ledger 가 마지막으로 알던 누적 취소 금액과 다르면(다른 경로에서 취소) 0 을 반환한다.
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query("update Transaction t "
+			+ "set t.cancelledAmount = :cancelledAmount, "
+			+ "t.version = t.version + 1 "
+			+ "where t.transactionId = :transactionId "
+			+ "and coalesce(t.cancelledAmount, 0) = :expectedCancelledAmount")
+	int updateCancelledAmount(
+			@Param("transactionId") String transactionId,
+			@Param("expectedCancelledAmount") Long expectedCancelledAmount,
+			@Param("cancelledAmount") Long cancelledAmount);
+
+	/**
+	 * 계좌 거래 내역 첫 페이지 (최신순)
+	 * ix_transaction_account_id_transacted_at_id 를 역순으로 읽고 pageable 크기만큼만 가져온다.
+	 */
+	@Query("select new com.zerobase.account.dto.TransactionHistoryDto("
+			+ "t.id, t.transactionType, t.transactionResultType, "
+			+ "t.amount, t.balanceSnapshot, t.transactionId, t.transactedAt) "
+			+ "from Transaction t "
+			+ "where t.account.id = :accountId "
+			+ "order by t.transactedAt desc, t.id desc")
+	List<TransactionHistoryDto> findHistory(
+			@Param("accountId") Long accountId, Pageable pageable);
+
+	/**
+	 * 계좌 거래 내역 다음 페이지 (cursor 이후부터)
+	 */
+	@Query("select new com.zerobase.account.dto.TransactionHistoryDto("
+			+ "t.id, t.transactionType, t.transactionResultType, "
+			+ "t.amount, t.balanceSnapshot, t.transactionId, t.transactedAt) "
+			+ "from Transaction t "
+			+ "where t.account.id = :accountId "
+			+ "and (t.transactedAt < :transactedAt "
+			+ "or (t.transactedAt = :transactedAt and t.id < :id)) "
+			+ "order by t.transactedAt desc, t.id desc")
+	List<TransactionHistoryDto> findHistoryAfter(
+			@Param("accountId") Long accountId,
+			@Param("transactedAt") LocalDateTime transactedAt,
+			@Param("id") Long id,
+			Pageable pageable);
+
+	/**
+	 * 거래 조회용 projection
+	 * TransactionDto 에 필요한 컬럼만 조회하고 엔티티는 만들지 않는다.
+	 */
+	@Query("select new com.zerobase.account.dto.TransactionDto("
+			+ "a.accountNumber, t.transactionType, t.transactionResultType, "
+			+ "t.amount, t.balanceSnapshot, t.transactionId, t.transactedAt) "
+			+ "from Transaction t join t.account a "
+			+ "where t.transactionId = :transactionId")
+	Optional<TransactionDto> findDtoByTransactionId(
+			@Param("transactionId") String transactionId);
+
+	/**
+	 * 보관 대상 후보, lastId 이후 거래를 id 순으로 pageable 크기만큼 읽는다. (PK 범위 조회)
+	 */
+	@Query("select t from Transaction t "
+			+ "where t.id > :lastId "
+			+ "order by t.id")
+	List<Transaction> findArchiveCandidates(
+			@Param("lastId") Long lastId, Pageable pageable);
+
+	/**
+	 * 일별 집계용, 아직 집계하지 않은 거래를 id 순으로 pageable 크기만큼 읽는다.
+	 * (ix_transaction_aggregated_id 범위 조회)
+	 */
+	@Query("select new com.zerobase.account.dto.TransactionAggregateDto("
+			+ "t.id, t.account.id, t.transactionType, t.transactionResultType, "
+			+ "t.amount, t.transactedAt) "
+			+ "from Transaction t "
+			+ "where t.aggregated = false "
+			+ "order by t.id")
+	List<TransactionAggregateDto> findNotAggregated(Pageable pageable);
+
+	/**
+	 * 일별 집계에 반영한 거래 표시, 집계를 누적한 트랜잭션 안에서 호출한다.
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query("update Transaction t set t.aggregated = true where t.id in :ids")
+	int markAggregated(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * 전체 거래 export 용 스트림 (id 순)
+	 * fetch size 만큼씩 커서로 읽고, 읽기 전용으로 조회해 dirty checking 스냅샷을 만들지 않는다.
+	 * 트랜잭션 안에서 호출하고 사용 후 반드시 close 해야 한다.
+	 */
+	@QueryHints({
+		@QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+		@QueryHint(name = HINT_READONLY, value = "true"),
+		@QueryHint(name = HINT_CACHEABLE, value = "false")
+	})
+	@Query("select t from Transaction t join fetch t.account order by t.id")
+	Stream<Transaction> streamAllForExport();
 }
@@ -0,0 +1,93 @@
+package com.zerobase.account.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zerobase.account.dto.AccountDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * 사용자별 계좌 목록 캐시 (노드 로컬, 크기/TTL 제한)
+ * 계좌 목록 조회와 계좌 개설 시 최대 계좌 수 확인에 사용한다.
+ * 계좌 개설/해지, 잔액 변경 시 캐시에 있는 사용자의 목록만 바꿔 넣고(write-through),
+ * 없는 사용자는 다음 조회 때 DB 에서 읽는다.
+ * 다른 노드에서 바뀐 잔액은 expire-after-write 이후에 반영된다.
+ * 캐시된 목록과 AccountDto 는 여러 요청이 같이 사용하므로 수정하지 않는다.
+ */
+@Component
+public class AccountListCache {
+	private final Cache<Long, List<AccountDto>> cache;
+
+	public AccountListCache(
+			MeterRegistry meterRegistry,
+			@Value("${account.cache.account-list.maximum-size:100000}") long maximumSize,
+			@Value("${account.cache.account-list.expire-after-write:10m}") Duration expireAfterWrite) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(expireAfterWrite)
+				.recordStats()
+				.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "account-list");
+	}
+
+	public List<AccountDto> get(Long userId, Function<Long, List<AccountDto>> loader) {
+		return cache.get(userId, id -> Collections.unmodifiableList(loader.apply(id)));
+	}
+
+	/**
+	 * 트랜잭션 안에서 호출되면 커밋 이후에 반영한다. (롤백된 변경이 캐시에 남지 않도록)
+	 */
+	public void putAfterCommit(AccountDto accountDto) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			put(accountDto);
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(
+				new TransactionSynchronization() {
+					@Override
+					public void afterCommit() {
+						put(accountDto);
+					}
+				});
+	}
+
+	/**
+	 * 같은 계좌번호가 있으면 바꾸고 없으면(새 계좌) 뒤에 붙인다.
+	 */
+	public void put(AccountDto accountDto) {
+		cache.asMap().computeIfPresent(accountDto.getUserId(),
+				(userId, accounts) -> upsert(accounts, accountDto));
+	}
+
+	private static List<AccountDto> upsert(List<AccountDto> accounts, AccountDto accountDto) {
+		List<AccountDto> updated = new ArrayList<>(accounts.size() + 1);
+		boolean replaced = false;
+		for (AccountDto account : accounts) {
+			if (account.getAccountNumber().equals(accountDto.getAccountNumber())) {
+				updated.add(accountDto);
+				replaced = true;
+			} else {
+				updated.add(account);
+			}
+		}
+
+		if (!replaced) {
+			updated.add(accountDto);
+		}
+		return Collections.unmodifiableList(updated);
+	}
+}
@@ -0,0 +1,98 @@
+package com.zerobase.account.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zerobase.account.domain.AccountNumberSequence;
+import com.zerobase.account.exception.AccountException;
+import com.zerobase.account.repository.AccountNumberSequenceRepository;
+import com.zerobase.account.type.ErrorCode;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 계좌번호 발급기 (hi/lo 방식)
+ * 시퀀스 테이블에서 blockSize 만큼의 번호 구간을 한 번에 예약해 두고,
+ * 구간 안에서는 AtomicLong 으로 번호를 나눠주므로 계좌 생성 시 DB 를 조회하지 않는다.
+ * 구간을 다 쓰면 별도 트랜잭션으로 다음 구간을 예약한다.
+ * 서버가 재시작되면 쓰지 못한 구간의 번호는 건너뛴다.
+ */
+@Slf4j
+@Component
+public class AccountNumberAllocator {
+	private static final String SEQUENCE_NAME = "ACCOUNT_NUMBER";
+	private static final long FIRST_ACCOUNT_NUMBER = 1_000_000_000L;
+	private static final long LAST_ACCOUNT_NUMBER = 9_999_999_999L;
+
+	private final AccountNumberSequenceRepository accountNumberSequenceRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final int blockSize;
+
+	private volatile Block block = new Block(0L, 0L);
+
+	public AccountNumberAllocator(
+			AccountNumberSequenceRepository accountNumberSequenceRepository,
+			PlatformTransactionManager transactionManager,
+			@Value("${account.number.block-size:100}") int blockSize) {
+		this.accountNumberSequenceRepository = accountNumberSequenceRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(
+				TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.blockSize = blockSize;
+	}
+
+	public String nextAccountNumber() {
+		while (true) {
+			Block current = block;
+			long accountNumber = current.cursor.getAndIncrement();
+			if (accountNumber < current.end) {
+				return String.valueOf(accountNumber);
+			}
+
+			synchronized (this) {
+				// 다른 스레드가 이미 새 구간을 받아왔으면 그대로 사용
+				if (block == current) {
+					block = reserveBlock();
+				}
+			}
+		}
+	}
+
+	private Block reserveBlock() {
+		Long start = transactionTemplate.execute(status -> {
+			AccountNumberSequence sequence =
+					accountNumberSequenceRepository.findByName(SEQUENCE_NAME)
+						.orElseGet(() -> AccountNumberSequence.builder()
+								.name(SEQUENCE_NAME)
+								.nextValue(FIRST_ACCOUNT_NUMBER)
+								.build());
+
+			long reserved = sequence.getNextValue();
+			if (reserved > LAST_ACCOUNT_NUMBER) {
+				throw new AccountException(ErrorCode.ACCOUNT_NUMBER_EXHAUSTED);
+			}
+
+			sequence.setNextValue(reserved + blockSize);
+			accountNumberSequenceRepository.save(sequence);
+			return reserved;
+		});
+
+		log.debug("Reserved account number block from {}", start);
+		return new Block(start, Math.min(start + blockSize, LAST_ACCOUNT_NUMBER + 1));
+	}
+
+	private static class Block {
+		private final AtomicLong cursor;
+		private final long end;
+
+		private Block(long start, long end) {
+			this.cursor = new AtomicLong(start);
+			this.end = end;
+		}
+	}
+}
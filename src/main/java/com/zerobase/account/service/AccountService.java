@@ -2,6 +2,7 @@ package com.zerobase.account.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
@@ -24,6 +25,8 @@ import lombok.RequiredArgsConstructor;
 public class AccountService {
 	private final AccountRepository accountRepository;
 	private final AccountUserRepository accountUserRepository;
+	private final AccountNumberAllocator accountNumberAllocator;
+	private final AccountListCache accountListCache;
 
 	/**
 	 * 사용자 존재 여부 확인, 계좌번호 생성, 계좌 정보 저장, 저장된 정보 응답
@@ -34,11 +37,9 @@ public class AccountService {
 		
 		validateCreateAccount(accountUser);
 
-		String newAccountNumber = accountRepository.findFirstByOrderByIdDesc()
-				.map(account -> (String.valueOf(Integer.parseInt(account.getAccountNumber())+ 1)))
-				.orElse("1000000000");
+		String newAccountNumber = accountNumberAllocator.nextAccountNumber();
 
-		return AccountDto.fromEntity(accountRepository.save(Account.builder()
+		AccountDto accountDto = AccountDto.fromEntity(accountRepository.save(Account.builder()
 				.accountUser(accountUser)
 				.accountStatus(AccountStatus.IN_USE)
 				.accountNumber(newAccountNumber)
@@ -46,6 +47,9 @@ public class AccountService {
 				.registeredAt(LocalDateTime.now())
 				.build())
 		);
+		accountListCache.putAfterCommit(accountDto);
+		
+		return accountDto;
 	}
 
 	private AccountUser getAccountUser(Long userId) {
@@ -54,15 +58,18 @@ public class AccountService {
 		return accountUser;
 	}
 
+	/**
+	 * 계좌 수는 사용자별 계좌 목록 캐시로 확인한다. (해지 계좌 포함)
+	 */
 	private void validateCreateAccount(AccountUser accountUser) {
-		if(accountRepository.countByAccountUser(accountUser) == 10) {
+		if(getAccounts(accountUser).size() >= 10) {
 			throw new AccountException(ErrorCode.MAX_COUNT_PER_USER_10);
 		}
 	}
 
 	@Transactional
 	public Account getAccount(Long id) {
-		return accountRepository.findById(id).get();
+		return accountRepository.findWithAccountUserById(id).get();
 	}
 
 	@Transactional
@@ -82,13 +89,16 @@ public class AccountService {
 		
 		accountRepository.save(account); // test 를 위해 넣어둔 코드 
 		
-		return AccountDto.fromEntity(account);
+		AccountDto accountDto = AccountDto.fromEntity(account);
+		accountListCache.putAfterCommit(accountDto);
+		
+		return accountDto;
 	}
 
 	private void validateDeleteAccount(AccountUser accountUser, Account account) {
 		
 		// 사용자 아이디와 계좌 소유주가 다른 경우  
-		if(accountUser.getId() != account.getAccountUser().getId()) {
+		if(!Objects.equals(accountUser.getId(), account.getAccountUser().getId())) {
 			throw new AccountException(ErrorCode.USER_ACCOUNT_UNMATCH);
 		}
 		
@@ -103,13 +113,20 @@ public class AccountService {
 		}
 	}
 	
-	@Transactional
+	/**
+	 * 캐시에 있으면 DB 를 조회하지 않는다. (사용자는 삭제되지 않으므로 캐시에 있으면 존재하는 사용자)
+	 */
 	public List<AccountDto> getAccountsByUserId(Long userId) {
-		AccountUser accountUser = getAccountUser(userId);
-		
-		List<Account> accounts = accountRepository.findByAccountUser(accountUser);
-		
-		return accounts.stream()
+		return accountListCache.get(userId, id -> loadAccounts(getAccountUser(id)));
+	}
+
+	private List<AccountDto> getAccounts(AccountUser accountUser) {
+		return accountListCache.get(accountUser.getId(), id -> loadAccounts(accountUser));
+	}
+
+	private List<AccountDto> loadAccounts(AccountUser accountUser) {
+		return accountRepository.findByAccountUser(accountUser)
+				.stream()
 				.map(AccountDto::fromEntity)
 				.collect(Collectors.toList());
 	}
@@ -0,0 +1,571 @@
+package com.zerobase.account.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zerobase.account.domain.Account;
+import com.zerobase.account.domain.Transaction;
+import com.zerobase.account.dto.AccountDto;
+import com.zerobase.account.dto.TransactionDto;
+import com.zerobase.account.exception.AccountException;
+import com.zerobase.account.repository.AccountRepository;
+import com.zerobase.account.repository.TransactionRepository;
+import com.zerobase.account.type.ErrorCode;
+import com.zerobase.account.type.TransactionResultType;
+import com.zerobase.account.type.TransactionType;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 계좌 잔액 in-memory ledger (account.ledger.enabled=true, 단일 노드 전용)
+ *
+ * 계좌번호 hash 로 shard 를 고르고, shard 마다 스레드 하나가 큐에서 요청을 꺼내 순서대로 처리한다.
+ * 같은 계좌의 요청은 항상 같은 스레드에서 처리되므로 계좌 lock 과 잔액 UPDATE 가 필요 없다.
+ * - 거래 내역(Transaction)은 한 번에 꺼낸 요청들을 모아 saveAll 한 번으로 기록하고(group commit),
+ *   기록이 끝난 뒤에 응답한다. 기록에 실패하면 메모리 잔액을 되돌린다.
+ * - account 테이블의 잔액은 checkpoint-interval 마다 바뀐 계좌만 반영한다.
+ * - 계좌를 처음 올릴 때는 마지막 성공 거래의 balanceSnapshot 으로 잔액을 복구한다.
+ *   (checkpoint 전에 내려갔더라도 거래 내역 기준으로 이어서 처리)
+ * 일괄 거래, 계좌 해지처럼 DB 잔액을 직접 다루는 작업은 runExclusive 로 shard 스레드에서 실행한다.
+ * 요청 스레드는 wait-time 까지 기다리고, 그때까지 shard 스레드가 시작하지 않은 요청은 취소하고
+ * ACCOUNT_TRANSACTION_LOCK 으로 응답한다. 이미 시작한 요청은 끝날 때까지 기다려 실제 결과로 응답한다.
+ * 따라서 AccountException 으로 실패한 요청은 잔액과 거래 내역에 반영되지 않은 요청이다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "account.ledger", name = "enabled", havingValue = "true")
+public class BalanceLedger {
+	private static final long POLL_INTERVAL_MILLIS = 100L;
+
+	private final AccountRepository accountRepository;
+	private final TransactionRepository transactionRepository;
+	private final TransactionService transactionService;
+	private final TransactionCache transactionCache;
+	private final AccountListCache accountListCache;
+	private final TransactionTemplate transactionTemplate;
+	private final DistributionSummary commitSize;
+	private final int groupSize;
+	private final long idleEvictNanos;
+	private final long waitMillis;
+	private final long originalRetentionNanos;
+	private final Shard[] shards;
+	private final int mask;
+
+	private volatile boolean running = true;
+
+	public BalanceLedger(
+			AccountRepository accountRepository,
+			TransactionRepository transactionRepository,
+			TransactionService transactionService,
+			TransactionCache transactionCache,
+			AccountListCache accountListCache,
+			PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry,
+			@Value("${account.ledger.shards:8}") int shardCount,
+			@Value("${account.ledger.queue-capacity:10000}") int queueCapacity,
+			@Value("${account.ledger.group-size:100}") int groupSize,
+			@Value("${account.ledger.idle-evict:10m}") Duration idleEvict,
+			@Value("${account.ledger.wait-time:5s}") Duration waitTime) {
+		this.accountRepository = accountRepository;
+		this.transactionRepository = transactionRepository;
+		this.transactionService = transactionService;
+		this.transactionCache = transactionCache;
+		this.accountListCache = accountListCache;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.commitSize = DistributionSummary.builder("account.ledger.commit.size")
+				.register(meterRegistry);
+		this.groupSize = groupSize;
+		this.idleEvictNanos = idleEvict.toNanos();
+		this.waitMillis = waitTime.toMillis();
+		// 보관 기간은 원 거래를 다시 읽지 않기 위한 것으로, 오래된 원 거래로 취소하면 조건부 UPDATE 에서 걸러진다.
+		this.originalRetentionNanos = waitTime.multipliedBy(2).toNanos();
+
+		int size = 1;
+		while (size < shardCount) {
+			size <<= 1;
+		}
+		this.shards = new Shard[size];
+		for (int i = 0; i < size; i++) {
+			shards[i] = new Shard(i, queueCapacity);
+			Gauge.builder("account.ledger.queue", shards[i].queue, BlockingQueue::size)
+					.tag("shard", String.valueOf(i))
+					.register(meterRegistry);
+		}
+		this.mask = size - 1;
+	}
+
+	@PostConstruct
+	public void start() {
+		for (Shard shard : shards) {
+			shard.thread.start();
+		}
+	}
+
+	public TransactionDto use(Long userId, String accountNumber, Long amount) {
+		Operation operation = new Operation(
+				TransactionType.USE, userId, accountNumber, amount, null);
+		shardOf(accountNumber).submit(operation, operation);
+		return await(operation);
+	}
+
+	public TransactionDto cancel(String transactionId, String accountNumber, Long amount) {
+		// 원 거래 조회는 shard 스레드를 잡지 않도록 요청 스레드에서 한다.
+		Transaction original = transactionRepository.findByTransactionId(transactionId)
+				.orElseThrow(() -> new AccountException(
+						transactionService.getCancelNotFoundError(transactionId)));
+
+		Operation operation = new Operation(
+				TransactionType.CANCEL, null, accountNumber, amount, original);
+		shardOf(accountNumber).submit(operation, operation);
+		return await(operation);
+	}
+
+	/**
+	 * 계좌를 ledger 에서 내려놓고(잔액 반영 후 제거) 같은 shard 스레드에서 action 을 실행한다.
+	 * action 이 끝날 때까지 해당 shard 의 다른 요청은 처리되지 않는다.
+	 */
+	public <T> T runExclusive(String accountNumber, Supplier<T> action) {
+		Shard shard = shardOf(accountNumber);
+		Request<T> request = new Request<>();
+		shard.submit((Task) () -> {
+			if (!request.start()) {
+				return;
+			}
+
+			try {
+				shard.release(accountNumber);
+				request.future.complete(action.get());
+			} catch (RuntimeException e) {
+				request.future.completeExceptionally(e);
+			}
+		}, request);
+		return await(request);
+	}
+
+	@Scheduled(fixedDelayString = "${account.ledger.checkpoint-interval:1000}")
+	public void checkpoint() {
+		for (Shard shard : shards) {
+			// 큐가 가득 차 있으면 이번 checkpoint 는 건너뛰고 다음 주기에 반영
+			shard.queue.offer((Task) shard::checkpoint);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		running = false;
+		for (Shard shard : shards) {
+			shard.thread.join();
+		}
+	}
+
+	private Shard shardOf(String accountNumber) {
+		int hash = accountNumber.hashCode();
+		return shards[(hash ^ (hash >>> 16)) & mask];
+	}
+
+	/**
+	 * wait-time 안에 끝나지 않으면 아직 시작하지 않은 요청만 취소하고 실패로 응답한다.
+	 * shard 스레드가 먼저 시작했으면 기록 여부를 알 수 있도록 끝날 때까지 기다린다.
+	 */
+	private <T> T await(Request<T> request) {
+		try {
+			return request.future.get(waitMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			return cancelOrJoin(request);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return cancelOrJoin(request);
+		} catch (ExecutionException e) {
+			throw unwrap(e.getCause());
+		}
+	}
+
+	private static <T> T cancelOrJoin(Request<T> request) {
+		if (request.cancel()) {
+			throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+		}
+
+		try {
+			return request.future.join();
+		} catch (CompletionException e) {
+			throw unwrap(e.getCause());
+		}
+	}
+
+	private static RuntimeException unwrap(Throwable cause) {
+		return cause instanceof RuntimeException
+				? (RuntimeException) cause
+				: new IllegalStateException(cause);
+	}
+
+	private interface Command {
+	}
+
+	@FunctionalInterface
+	private interface Task extends Command {
+		void run();
+	}
+
+	private enum State {
+		QUEUED, RUNNING, CANCELLED
+	}
+
+	/**
+	 * shard 스레드는 실행 직전에 QUEUED → RUNNING, 기다리다 시간이 지난 요청 스레드는 QUEUED → CANCELLED 로 바꾼다.
+	 * 먼저 바꾼 쪽만 진행하므로 실행된 요청이 시간 초과로 응답되거나, 취소된 요청이 실행되는 일은 없다.
+	 */
+	private static class Request<T> {
+		private final AtomicReference<State> state = new AtomicReference<>(State.QUEUED);
+		// Operation 에서도 접근하므로 private 으로 두지 않는다.
+		final CompletableFuture<T> future = new CompletableFuture<>();
+
+		boolean start() {
+			return state.compareAndSet(State.QUEUED, State.RUNNING);
+		}
+
+		boolean cancel() {
+			return state.compareAndSet(State.QUEUED, State.CANCELLED);
+		}
+	}
+
+	private static class Operation extends Request<TransactionDto> implements Command {
+		private final TransactionType transactionType;
+		private final Long userId;
+		private final String accountNumber;
+		private final Long amount;
+		private final Transaction original;
+
+		private Operation(TransactionType transactionType, Long userId,
+				String accountNumber, Long amount, Transaction original) {
+			this.transactionType = transactionType;
+			this.userId = userId;
+			this.accountNumber = accountNumber;
+			this.amount = amount;
+			this.original = original;
+		}
+	}
+
+	/**
+	 * account 는 DB 에서 읽어온 뒤 분리된(detached) 엔티티로, balance 가 ledger 의 현재 잔액이다.
+	 * originals 는 이 계좌에서 취소한 원 거래로, 요청 스레드가 읽은 원 거래보다 누적 취소 금액이 최신이다.
+	 * 마지막 취소 후 wait-time 의 두 배가 지나면 checkpoint 에서 제거한다.
+	 * runExclusive 로 계좌를 내려놓으면 함께 버리므로, 그 사이 다른 경로의 취소는
+	 * committedCancelledAmount 와 DB 값이 달라져 다음 커밋이 실패한다.
+	 */
+	private static class Entry {
+		private final Account account;
+		private final Map<String, Original> originals = new HashMap<>();
+		private boolean dirty;
+		private long lastUsedAt;
+
+		private Entry(Account account) {
+			this.account = account;
+		}
+	}
+
+	private static class Original {
+		private final Transaction transaction;
+		private long committedCancelledAmount;
+		private long cancelledAt;
+
+		private Original(Transaction transaction) {
+			this.transaction = transaction;
+			this.committedCancelledAmount = cancelledAmount(transaction);
+		}
+	}
+
+	private static long cancelledAmount(Transaction transaction) {
+		return transaction.getCancelledAmount() == null ? 0L : transaction.getCancelledAmount();
+	}
+
+	private class Shard implements Runnable {
+		private final BlockingQueue<Command> queue;
+		private final Map<String, Entry> entries = new HashMap<>();
+		private final Thread thread;
+
+		private Shard(int index, int queueCapacity) {
+			this.queue = new ArrayBlockingQueue<>(queueCapacity);
+			this.thread = new Thread(this, "balance-ledger-" + index);
+			this.thread.setDaemon(true);
+		}
+
+		/**
+		 * 큐가 가득 차면 처리하지 않고 바로 거절한다.
+		 */
+		private void submit(Command command, Request<?> request) {
+			if (!running || !queue.offer(command)) {
+				request.future.completeExceptionally(
+						new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+			}
+		}
+
+		@Override
+		public void run() {
+			List<Command> commands = new ArrayList<>(groupSize);
+			while (running || !queue.isEmpty()) {
+				try {
+					Command first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+					if (first == null) {
+						continue;
+					}
+
+					commands.add(first);
+					queue.drainTo(commands, groupSize - 1);
+					process(commands);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				} catch (RuntimeException e) {
+					log.error("Balance ledger command failed", e);
+				} finally {
+					commands.clear();
+				}
+			}
+
+			checkpoint();
+		}
+
+		private void process(List<Command> commands) {
+			List<Operation> group = new ArrayList<>(commands.size());
+			for (Command command : commands) {
+				if (command instanceof Operation) {
+					group.add((Operation) command);
+					continue;
+				}
+
+				// 앞선 거래를 먼저 기록한 뒤 실행
+				commit(group);
+				group.clear();
+				((Task) command).run();
+			}
+			commit(group);
+		}
+
+		private void commit(List<Operation> group) {
+			List<Operation> applied = new ArrayList<>(group.size());
+			List<Transaction> transactions = new ArrayList<>(group.size());
+			for (Operation operation : group) {
+				// 기다리다 시간이 지나 취소된 요청은 처리하지 않는다.
+				if (!operation.start()) {
+					continue;
+				}
+
+				try {
+					Entry entry = entry(operation.accountNumber);
+					Transaction transaction = apply(operation, entry);
+					entry.dirty = true;
+					entry.lastUsedAt = System.nanoTime();
+
+					applied.add(operation);
+					transactions.add(transaction);
+				} catch (RuntimeException e) {
+					operation.future.completeExceptionally(e);
+				}
+			}
+
+			if (transactions.isEmpty()) {
+				return;
+			}
+
+			Map<String, Original> originals = originals(applied);
+			List<Transaction> saved;
+			try {
+				saved = transactionTemplate.execute(status -> {
+					List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+					updateCancelledAmounts(originals);
+					return savedTransactions;
+				});
+			} catch (RuntimeException e) {
+				log.error("Failed to commit {} ledger transactions", transactions.size(), e);
+
+				// 기록하지 못한 거래는 잔액에서 되돌린다.
+				for (int i = applied.size() - 1; i >= 0; i--) {
+					revert(applied.get(i));
+				}
+				applied.forEach(operation -> operation.future.completeExceptionally(e));
+				return;
+			}
+
+			// 커밋된 거래는 이후 캐시 반영이 실패해도 성공으로 응답한다.
+			originals.values().forEach(original ->
+					original.committedCancelledAmount = cancelledAmount(original.transaction));
+			commitSize.record(saved.size());
+			for (int i = 0; i < saved.size(); i++) {
+				TransactionDto transactionDto = TransactionDto.fromEntity(saved.get(i));
+				applied.get(i).future.complete(transactionDto);
+				transactionCache.put(transactionDto);
+			}
+
+			// 사용자별 계좌 목록에는 account 테이블보다 먼저 ledger 잔액을 반영한다.
+			applied.stream()
+					.map(operation -> operation.accountNumber)
+					.distinct()
+					.forEach(accountNumber -> accountListCache.put(
+							AccountDto.fromEntity(entries.get(accountNumber).account)));
+		}
+
+		private Transaction apply(Operation operation, Entry entry) {
+			Account account = entry.account;
+			if (operation.transactionType == TransactionType.USE) {
+				transactionService.validateAccountUser(operation.userId, account);
+				transactionService.validateUseBalance(operation.userId, account, operation.amount);
+				account.useBalance(operation.amount);
+				return transactionService.buildTransaction(
+						TransactionType.USE, TransactionResultType.S, operation.amount, account);
+			}
+
+			String transactionId = operation.original.getTransactionId();
+			Original original = entry.originals.get(transactionId);
+			if (original == null) {
+				original = new Original(operation.original);
+			}
+
+			// 검증에 실패한 원 거래는 남기지 않는다.
+			transactionService.validateCancelBalance(
+					original.transaction, account, operation.amount);
+			original.transaction.cancel(operation.amount);
+			original.cancelledAt = System.nanoTime();
+			entry.originals.put(transactionId, original);
+			account.cancelBalance(operation.amount);
+			return transactionService.buildCancelTransaction(
+					original.transaction, operation.amount, account);
+		}
+
+		private Map<String, Original> originals(List<Operation> applied) {
+			Map<String, Original> originals = new LinkedHashMap<>();
+			for (Operation operation : applied) {
+				if (operation.transactionType == TransactionType.CANCEL) {
+					String transactionId = operation.original.getTransactionId();
+					originals.put(transactionId,
+							entries.get(operation.accountNumber).originals.get(transactionId));
+				}
+			}
+			return originals;
+		}
+
+		/**
+		 * 원 거래마다 이번 묶음의 마지막 누적 취소 금액만 반영한다.
+		 * 마지막으로 커밋한 누적 금액과 DB 값이 다르면 묶음 전체를 되돌린다.
+		 */
+		private void updateCancelledAmounts(Map<String, Original> originals) {
+			originals.forEach((transactionId, original) -> {
+				int updated = transactionRepository.updateCancelledAmount(transactionId,
+						original.committedCancelledAmount,
+						cancelledAmount(original.transaction));
+				if (updated == 0) {
+					throw new OptimisticLockingFailureException(
+							"Cancelled amount changed : " + transactionId);
+				}
+			});
+		}
+
+		private void revert(Operation operation) {
+			Entry entry = entries.get(operation.accountNumber);
+			Account account = entry.account;
+			if (operation.transactionType == TransactionType.USE) {
+				account.setBalance(account.getBalance() + operation.amount);
+				return;
+			}
+
+			// DB 와 어긋났을 수 있으므로 다음 취소는 요청 스레드가 다시 읽은 원 거래로 시작한다.
+			account.setBalance(account.getBalance() - operation.amount);
+			entry.originals.remove(operation.original.getTransactionId());
+		}
+
+		private Entry entry(String accountNumber) {
+			Entry entry = entries.get(accountNumber);
+			if (entry == null) {
+				entry = new Entry(load(accountNumber));
+				entries.put(accountNumber, entry);
+			}
+			return entry;
+		}
+
+		/**
+		 * 마지막 성공 거래의 잔액이 checkpoint 된 잔액보다 최신이다.
+		 * 거래가 없는 계좌(개설 직후)는 테이블 잔액을 사용한다.
+		 */
+		private Account load(String accountNumber) {
+			Account account = accountRepository.findByAccountNumber(accountNumber)
+					.orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+			transactionRepository
+					.findFirstByAccountAndTransactionResultTypeOrderByIdDesc(
+							account, TransactionResultType.S)
+					.ifPresent(last -> account.setBalance(last.getBalanceSnapshot()));
+			return account;
+		}
+
+		private void checkpoint() {
+			long now = System.nanoTime();
+			List<Entry> dirty = new ArrayList<>();
+			for (Entry entry : entries.values()) {
+				entry.originals.values().removeIf(original ->
+						now - original.cancelledAt > originalRetentionNanos);
+				if (entry.dirty) {
+					dirty.add(entry);
+				}
+			}
+
+			if (!dirty.isEmpty()) {
+				try {
+					writeBalances(dirty);
+				} catch (RuntimeException e) {
+					log.error("Failed to checkpoint {} ledger balances", dirty.size(), e);
+					return;
+				}
+			}
+
+			entries.values().removeIf(entry -> !entry.dirty
+					&& now - entry.lastUsedAt > idleEvictNanos);
+		}
+
+		private void release(String accountNumber) {
+			Entry entry = entries.get(accountNumber);
+			if (entry == null) {
+				return;
+			}
+
+			if (entry.dirty) {
+				writeBalances(Collections.singletonList(entry));
+			}
+			entries.remove(accountNumber);
+		}
+
+		private void writeBalances(List<Entry> dirty) {
+			transactionTemplate.executeWithoutResult(status -> dirty.forEach(entry ->
+					accountRepository.updateBalance(
+							entry.account.getAccountNumber(),
+							entry.account.getBalance())));
+			dirty.forEach(entry -> entry.dirty = false);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.zerobase.account.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import com.zerobase.account.dto.BatchTransaction;
+import com.zerobase.account.exception.AccountException;
+import com.zerobase.account.type.ErrorCode;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 일괄 잔액 사용/취소
+ * 요청을 계좌별로 묶어서 계좌마다 lock 을 한 번만 잡고, 묶음 안에서는 요청 순서대로 반영한다.
+ * 결과는 요청 순서 그대로 돌려준다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchTransactionService {
+	private final LockService lockService;
+	private final TransactionService transactionService;
+	private final ObjectProvider<BalanceLedger> balanceLedger;
+
+	@Value("${account.batch.lock-wait-time:5000}")
+	private long lockWaitTime;
+
+	@Value("${account.batch.lock-lease-time:30000}")
+	private long lockLeaseTime;
+
+	public BatchTransaction.Response process(List<BatchTransaction.Item> items) {
+		Map<String, List<Integer>> indexesByAccount = new LinkedHashMap<>();
+		for (int i = 0; i < items.size(); i++) {
+			indexesByAccount
+				.computeIfAbsent(items.get(i).getAccountNumber(), k -> new ArrayList<>())
+				.add(i);
+		}
+
+		BatchTransaction.Result[] results = new BatchTransaction.Result[items.size()];
+		indexesByAccount.forEach((accountNumber, indexes) -> {
+			List<BatchTransaction.Item> accountItems = new ArrayList<>(indexes.size());
+			for (Integer index : indexes) {
+				accountItems.add(items.get(index));
+			}
+
+			List<BatchTransaction.Result> accountResults =
+					processAccount(accountNumber, accountItems);
+			for (int i = 0; i < indexes.size(); i++) {
+				results[indexes.get(i)] = accountResults.get(i);
+			}
+		});
+
+		return new BatchTransaction.Response(Arrays.asList(results));
+	}
+
+	/**
+	 * 계좌 묶음 하나가 실패해도 나머지 계좌는 그대로 처리하고, 모든 항목의 결과를 돌려준다.
+	 * (이미 커밋된 다른 계좌 묶음이 재시도로 다시 반영되지 않도록 예외를 밖으로 던지지 않는다)
+	 */
+	private List<BatchTransaction.Result> processAccount(
+			String accountNumber, List<BatchTransaction.Item> items) {
+		BalanceLedger ledger = balanceLedger.getIfAvailable();
+		if (ledger != null) {
+			// ledger 가 잔액을 가지고 있으므로 계좌 lock 대신 shard 스레드에서 처리
+			try {
+				return ledger.runExclusive(accountNumber,
+						() -> transactionService.applyBatch(accountNumber, items));
+			} catch (RuntimeException e) {
+				return failAll(accountNumber, items, e);
+			}
+		}
+
+		try {
+			lockService.lock(accountNumber, lockWaitTime, lockLeaseTime);
+		} catch (RuntimeException e) {
+			return failAll(accountNumber, items, e);
+		}
+
+		try {
+			return transactionService.applyBatch(accountNumber, items);
+		} catch (RuntimeException e) {
+			return failAll(accountNumber, items, e);
+		} finally {
+			lockService.unlock(accountNumber);
+		}
+	}
+
+	private List<BatchTransaction.Result> failAll(
+			String accountNumber, List<BatchTransaction.Item> items, RuntimeException e) {
+		ErrorCode errorCode;
+		if (e instanceof AccountException) {
+			errorCode = ((AccountException) e).getErrorCode();
+			log.error("Failed to apply batch for accountNumber : {}, errorCode : {}",
+					accountNumber, errorCode);
+		} else {
+			errorCode = e instanceof OptimisticLockingFailureException
+					? ErrorCode.ACCOUNT_TRANSACTION_LOCK
+					: ErrorCode.INVALID_SERVER_ERROR;
+			log.error("Failed to apply batch for accountNumber : {}", accountNumber, e);
+		}
+
+		List<BatchTransaction.Result> results = new ArrayList<>(items.size());
+		for (BatchTransaction.Item item : items) {
+			results.add(BatchTransaction.Result.fail(item, errorCode));
+		}
+		return results;
+	}
+}
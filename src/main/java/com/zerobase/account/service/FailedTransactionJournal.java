@@ -0,0 +1,163 @@
+package com.zerobase.account.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.zerobase.account.dto.FailedTransaction;
+import com.zerobase.account.type.TransactionType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 실패 거래 write-behind 저널
+ * 요청 스레드는 큐에 넣기만 하고, writer 스레드가 모아서 saveAll 로 기록한다.
+ * 큐가 가득 차면 요청 스레드에서 직접 기록하고(backpressure),
+ * 종료 시에는 큐에 남은 기록을 모두 저장한 뒤 내려간다.
+ * 저장에 실패하면 max-attempts 까지 다시 시도하고, 그래도 실패하면 한 건씩 저장해
+ * 저장되지 않는 기록만 error 로그를 남기고 버린다. (큐는 메모리에만 있으므로 프로세스가 죽으면 남은 기록도 유실된다)
+ */
+@Slf4j
+@Component
+public class FailedTransactionJournal {
+	private static final long POLL_INTERVAL_MILLIS = 100L;
+
+	private final TransactionService transactionService;
+	private final BlockingQueue<FailedTransaction> queue;
+	private final int batchSize;
+	private final Duration shutdownTimeout;
+	private final int maxAttempts;
+	private final Duration retryBackoff;
+	private final Thread writer;
+
+	private volatile boolean running = true;
+
+	public FailedTransactionJournal(
+			TransactionService transactionService,
+			@Value("${account.failed-transaction.queue-capacity:10000}") int queueCapacity,
+			@Value("${account.failed-transaction.batch-size:100}") int batchSize,
+			@Value("${account.failed-transaction.shutdown-timeout:10s}") Duration shutdownTimeout,
+			@Value("${account.failed-transaction.max-attempts:3}") int maxAttempts,
+			@Value("${account.failed-transaction.retry-backoff:200ms}") Duration retryBackoff) {
+		this.transactionService = transactionService;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.batchSize = batchSize;
+		this.shutdownTimeout = shutdownTimeout;
+		this.maxAttempts = maxAttempts;
+		this.retryBackoff = retryBackoff;
+		this.writer = new Thread(this::drainLoop, "failed-transaction-writer");
+		this.writer.setDaemon(true);
+	}
+
+	@PostConstruct
+	public void start() {
+		writer.start();
+	}
+
+	public void record(TransactionType transactionType, String accountNumber, Long amount) {
+		FailedTransaction failedTransaction = new FailedTransaction(
+				transactionType, accountNumber, amount, LocalDateTime.now());
+
+		if (!running || !queue.offer(failedTransaction)) {
+			// 요청 스레드는 다시 시도하며 기다리지 않는다.
+			write(Collections.singletonList(failedTransaction), 1);
+		}
+	}
+
+	private void drainLoop() {
+		List<FailedTransaction> buffer = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				FailedTransaction first =
+						queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+
+				buffer.add(first);
+				queue.drainTo(buffer, batchSize - 1);
+				write(buffer, maxAttempts);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} finally {
+				buffer.clear();
+			}
+		}
+	}
+
+	private void write(List<FailedTransaction> failedTransactions, int attempts) {
+		for (int attempt = 1; attempt <= attempts; attempt++) {
+			try {
+				transactionService.saveFailedTransactions(failedTransactions);
+				return;
+			} catch (RuntimeException e) {
+				log.warn("Failed to write {} failed transactions (attempt {}/{})",
+						failedTransactions.size(), attempt, attempts, e);
+			}
+
+			if (attempt < attempts && !sleep(retryBackoff.multipliedBy(attempt))) {
+				break;
+			}
+		}
+
+		if (failedTransactions.size() == 1) {
+			drop(failedTransactions.get(0));
+			return;
+		}
+
+		// 묶음 저장이 계속 실패하면 한 건씩 저장해서 문제가 되는 기록만 버린다.
+		for (FailedTransaction failedTransaction : failedTransactions) {
+			try {
+				transactionService.saveFailedTransactions(
+						Collections.singletonList(failedTransaction));
+			} catch (RuntimeException e) {
+				log.warn("Failed to write failed transaction", e);
+				drop(failedTransaction);
+			}
+		}
+	}
+
+	private static void drop(FailedTransaction failedTransaction) {
+		log.error("Dropped failed transaction. type : {}, accountNumber : {}, "
+				+ "amount : {}, transactedAt : {}",
+				failedTransaction.getTransactionType(),
+				failedTransaction.getAccountNumber(),
+				failedTransaction.getAmount(),
+				failedTransaction.getTransactedAt());
+	}
+
+	private static boolean sleep(Duration duration) {
+		try {
+			Thread.sleep(duration.toMillis());
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		running = false;
+		writer.join(shutdownTimeout.toMillis());
+
+		// writer 가 제시간에 끝나지 않았으면 남은 기록은 종료 스레드에서 저장
+		List<FailedTransaction> rest = new ArrayList<>(batchSize);
+		while (queue.drainTo(rest, batchSize) > 0) {
+			write(rest, maxAttempts);
+			rest.clear();
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.zerobase.account.service;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.zerobase.account.aop.AccountLockIdInterface;
+import com.zerobase.account.aop.Idempotent;
+import com.zerobase.account.exception.AccountException;
+import com.zerobase.account.type.ErrorCode;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * LockAopAspect 보다 바깥에서 실행되어야 재시도가 계좌 lock 을 기다리지 않는다.
+ * 키는 엔드포인트와 계좌번호 범위로 구분한다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+	private static final int MAX_KEY_LENGTH = 255;
+
+	private final IdempotencyStore idempotencyStore;
+
+	@Around("@annotation(idempotent) && args(request, idempotencyKey)")
+	public Object aroundMethod(
+		ProceedingJoinPoint pjp,
+		Idempotent idempotent,
+		AccountLockIdInterface request,
+		String idempotencyKey
+	) throws Throwable {
+		if (idempotencyKey == null) {
+			return pjp.proceed();
+		}
+		if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+			throw new AccountException(ErrorCode.INVALID_REQUEST);
+		}
+
+		String key = pjp.getSignature().getName() + ":"
+				+ request.getAccountNumber() + ":" + idempotencyKey;
+		Class<?> responseType = ((MethodSignature) pjp.getSignature()).getReturnType();
+
+		Object stored = idempotencyStore.claim(key, responseType);
+		if (stored != null) {
+			return stored;
+		}
+
+		Object response;
+		try {
+			response = pjp.proceed();
+		} catch (Throwable e) {
+			idempotencyStore.release(key);
+			throw e;
+		}
+		idempotencyStore.complete(key, response);
+		return response;
+	}
+}
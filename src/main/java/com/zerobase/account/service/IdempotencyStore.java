@@ -0,0 +1,170 @@
+package com.zerobase.account.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zerobase.account.aop.AccountLock;
+import com.zerobase.account.exception.AccountException;
+import com.zerobase.account.type.ErrorCode;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Idempotency-Key 별 처리 결과 저장소
+ * 1. claim : 처음 들어온 키는 처리 중(PENDING)으로 표시하고 null 을 반환한다.
+ *    이미 끝난 키는 저장된 응답을, 처리 중인 키는 IDEMPOTENCY_KEY_IN_USE 를 돌려준다.
+ * 2. complete : 성공 응답을 ttl 동안 보관한다.
+ * 3. release : 실패하면 표시를 지워 같은 키로 다시 시도할 수 있게 한다.
+ * Redis 를 쓰면 노드 간 중복은 Redis SETNX 로 막고, 로컬 캐시는 끝난 응답만 보관한다.
+ * Redis 오류 시에는 로컬 캐시로만 처리한다.
+ * Redis 의 처리 중 표시는 요청이 걸릴 수 있는 최대 시간(lock 대기 + lease + async timeout)에
+ * pending-margin 을 더한 만큼 유지한다. 처리 중에 만료되면 같은 키의 재시도가 중복 처리될 수 있기 때문이다.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+	private static final String REDIS_KEY_PREFIX = "IDEM:";
+	private static final Object PENDING = new Object();
+	private static final String REDIS_PENDING = "";
+
+	private final Cache<String, Object> localCache;
+	private final RedissonClient redissonClient;
+	private final ObjectMapper objectMapper;
+	private final boolean redisEnabled;
+	private final Duration ttl;
+	private final Duration pendingTtl;
+	private final Counter replayCounter;
+	private final Counter inUseCounter;
+
+	public IdempotencyStore(
+			RedissonClient redissonClient,
+			ObjectMapper objectMapper,
+			MeterRegistry meterRegistry,
+			@Value("${account.idempotency.maximum-size:100000}") long maximumSize,
+			@Value("${account.idempotency.ttl:24h}") Duration ttl,
+			@Value("${account.web.async.timeout:30000}") long asyncTimeout,
+			@Value("${account.idempotency.pending-margin:30s}") Duration pendingMargin,
+			@Value("${account.idempotency.redis-enabled:true}") boolean redisEnabled) {
+		this.localCache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(ttl)
+				.build();
+		this.redissonClient = redissonClient;
+		this.objectMapper = objectMapper;
+		this.redisEnabled = redisEnabled;
+		this.ttl = ttl;
+		this.pendingTtl = Duration.ofMillis(AccountLock.DEFAULT_TRY_LOCK_TIME
+				+ AccountLock.DEFAULT_LEASE_TIME + asyncTimeout).plus(pendingMargin);
+		this.replayCounter = meterRegistry.counter("account.idempotency", "result", "replay");
+		this.inUseCounter = meterRegistry.counter("account.idempotency", "result", "in_use");
+	}
+
+	/**
+	 * @return 이미 처리된 키면 저장된 응답, 처음 들어온 키면 null
+	 */
+	public <T> T claim(String key, Class<T> responseType) {
+		Object cached = localCache.getIfPresent(key);
+		if (cached != null && cached != PENDING) {
+			return replay(responseType.cast(cached));
+		}
+
+		if (redisEnabled) {
+			try {
+				return claimOnRedis(key, responseType);
+			} catch (AccountException e) {
+				throw e;
+			} catch (RuntimeException e) {
+				log.warn("Failed to claim idempotency key on redis: " + e);
+			}
+		}
+
+		Object existing = localCache.asMap().putIfAbsent(key, PENDING);
+		if (existing == null) {
+			return null;
+		}
+		if (existing == PENDING) {
+			throw inUse();
+		}
+		return replay(responseType.cast(existing));
+	}
+
+	public void complete(String key, Object response) {
+		localCache.put(key, response);
+
+		if (redisEnabled) {
+			try {
+				bucket(key).set(objectMapper.writeValueAsString(response),
+						ttl.toMillis(), TimeUnit.MILLISECONDS);
+			} catch (JsonProcessingException | RuntimeException e) {
+				log.warn("Failed to write idempotency key to redis: " + e);
+			}
+		}
+	}
+
+	public void release(String key) {
+		localCache.asMap().remove(key, PENDING);
+
+		if (redisEnabled) {
+			try {
+				bucket(key).compareAndSet(REDIS_PENDING, null);
+			} catch (RuntimeException e) {
+				log.warn("Failed to release idempotency key on redis: " + e);
+			}
+		}
+	}
+
+	private <T> T claimOnRedis(String key, Class<T> responseType) {
+		RBucket<String> bucket = bucket(key);
+		if (bucket.trySet(REDIS_PENDING, pendingTtl.toMillis(), TimeUnit.MILLISECONDS)) {
+			return null;
+		}
+
+		String stored = bucket.get();
+		if (stored == null) {
+			// 확인 사이에 만료되었으면 다시 선점을 시도한다.
+			if (bucket.trySet(REDIS_PENDING, pendingTtl.toMillis(), TimeUnit.MILLISECONDS)) {
+				return null;
+			}
+			throw inUse();
+		}
+		if (REDIS_PENDING.equals(stored)) {
+			throw inUse();
+		}
+
+		try {
+			T response = objectMapper.readValue(stored, responseType);
+			localCache.put(key, response);
+			return replay(response);
+		} catch (JsonProcessingException e) {
+			// 다시 처리하면 중복 거래가 되므로 실패로 응답한다.
+			log.error("Failed to read idempotent response. key : {}", key, e);
+			throw new AccountException(ErrorCode.INVALID_SERVER_ERROR);
+		}
+	}
+
+	private <T> T replay(T response) {
+		replayCounter.increment();
+		return response;
+	}
+
+	private AccountException inUse() {
+		inUseCounter.increment();
+		return new AccountException(ErrorCode.IDEMPOTENCY_KEY_IN_USE);
+	}
+
+	private RBucket<String> bucket(String key) {
+		return redissonClient.getBucket(REDIS_KEY_PREFIX + key, StringCodec.INSTANCE);
+	}
+}
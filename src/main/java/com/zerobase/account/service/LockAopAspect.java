@@ -1,32 +1,100 @@
 package com.zerobase.account.service;
 
+import java.util.concurrent.TimeUnit;
+
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.zerobase.account.aop.AccountLock;
 import com.zerobase.account.aop.AccountLockIdInterface;
+import com.zerobase.account.exception.AccountException;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Aspect
 @Component
 @RequiredArgsConstructor
 public class LockAopAspect {
 	private final LockService lockService;
+	private final MeterRegistry meterRegistry;
+
+	/**
+	 * BalanceLedger 를 쓰면 같은 계좌 요청은 shard 스레드 하나가 순서대로 처리하므로 lock 을 잡지 않는다.
+	 */
+	@Value("${account.ledger.enabled:false}")
+	private boolean ledgerEnabled;
 	
-	@Around("@annotation(com.zerobase.account.aop.AccountLock) && args(request)")
+	@Around("@annotation(accountLock) && args(request, ..)")
 	public Object aroundMethod(
 		ProceedingJoinPoint pjp,
+		AccountLock accountLock,
 		AccountLockIdInterface request
 	) throws Throwable {
+		if (ledgerEnabled) {
+			return pjp.proceed();
+		}
+
+		String endpoint = pjp.getSignature().getName();
+
 		// lock 취득 시도
-		lockService.lock(request.getAccountNumber());
+		long waitStartedAt = System.nanoTime();
+		try {
+			lockService.lock(request.getAccountNumber(),
+					accountLock.tryLockTime(), accountLock.leaseTime());
+		} catch (AccountException e) {
+			recordWaitTime(endpoint, "fail", System.nanoTime() - waitStartedAt);
+			throw e;
+		} catch (RuntimeException e) {
+			// lock 저장소 오류는 lock 경합(fail)과 구분한다.
+			recordWaitTime(endpoint, "error", System.nanoTime() - waitStartedAt);
+			throw e;
+		}
+		long acquiredAt = System.nanoTime();
+		recordWaitTime(endpoint, "success", acquiredAt - waitStartedAt);
+
 		try {
 			return pjp.proceed();
 		} finally {
+			recordHoldTime(endpoint, request.getAccountNumber(),
+					accountLock.leaseTime(), System.nanoTime() - acquiredAt);
 			// lock 해제 
 			lockService.unlock(request.getAccountNumber());
 		}
 	}
+
+	private void recordWaitTime(String endpoint, String result, long waitNanos) {
+		Timer.builder("account.lock.wait")
+				.tag("endpoint", endpoint)
+				.tag("result", result)
+				.publishPercentileHistogram()
+				.register(meterRegistry)
+				.record(waitNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * lease 를 넘겨서 잡고 있었다면 그 사이 다른 요청이 lock 을 가져갔을 수 있으므로 경고를 남긴다.
+	 */
+	private void recordHoldTime(
+			String endpoint, String accountNumber, long leaseTime, long holdNanos) {
+		Timer.builder("account.lock.hold")
+				.tag("endpoint", endpoint)
+				.publishPercentileHistogram()
+				.register(meterRegistry)
+				.record(holdNanos, TimeUnit.NANOSECONDS);
+
+		if (holdNanos > TimeUnit.MILLISECONDS.toNanos(leaseTime)) {
+			meterRegistry.counter("account.lock.lease.exceeded", "endpoint", endpoint)
+					.increment();
+			log.warn("Lock held longer than lease. endpoint : {}, accountNumber : {}, held : {}ms, lease : {}ms",
+					endpoint, accountNumber,
+					TimeUnit.NANOSECONDS.toMillis(holdNanos), leaseTime);
+		}
+	}
 }
@@ -0,0 +1,16 @@
+package com.zerobase.account.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌 lock 을 실제로 잡아주는 저장소 추상화
+ * account.lock.provider 설정값으로 구현체를 선택한다.
+ * - redis(기본값) : Redisson 분산 lock, 여러 노드가 함께 떠 있는 경우
+ * - local : JVM 내부 striped lock, 단일 노드로 운영하는 경우
+ */
+public interface LockProvider {
+	boolean tryLock(String key, long waitTime, long leaseTime, TimeUnit unit)
+			throws InterruptedException;
+
+	void unlock(String key);
+}
@@ -2,8 +2,6 @@ package com.zerobase.account.service;
 
 import java.util.concurrent.TimeUnit;
 
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Service;
 
 import com.zerobase.account.exception.AccountException;
@@ -16,28 +14,35 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @RequiredArgsConstructor
 public class LockService {
-	private final RedissonClient redissonClient;
+	private final LockProvider lockProvider;
 
-	public void lock(String accountNumber) {
-		RLock lock = redissonClient.getLock(getLockKey(accountNumber));
+	/**
+	 * lock 을 잡지 못하면 예외로 끝나므로, 정상 반환은 lock 을 잡았다는 뜻이다.
+	 * lock 저장소 오류(Redis 장애 등)는 lock 없이 진행하지 않도록 그대로 던진다.
+	 * @param waitTime lock 획득 대기 시간(ms)
+	 * @param leaseTime lock 보유 한도(ms)
+	 */
+	public void lock(String accountNumber, long waitTime, long leaseTime) {
 		log.debug("Trying lock for accountNumber : {}", accountNumber);
 
+		boolean isLock;
 		try {
-			boolean isLock = lock.tryLock(1, 15, TimeUnit.SECONDS);
-			if (!isLock) {
-				log.error("========== Lock acquisition failed ======");
-				throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
-			}
-		} catch(AccountException e) {
-			throw e;
-		} catch (Exception e) {
-			log.error("Redis lock failed: " + e);
+			isLock = lockProvider.tryLock(getLockKey(accountNumber),
+					waitTime, leaseTime, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+		}
+
+		if (!isLock) {
+			log.error("========== Lock acquisition failed ======");
+			throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
 		}
 	}
 	
 	public void unlock(String accountNumber) {
 		log.debug("Unlock for accountNumber : {}", accountNumber);
-		redissonClient.getLock(getLockKey(accountNumber)).unlock();
+		lockProvider.unlock(getLockKey(accountNumber));
 	}
 	
 	private String getLockKey(String accountNumber) {
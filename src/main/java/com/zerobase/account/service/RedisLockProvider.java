@@ -0,0 +1,28 @@
+package com.zerobase.account.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "account.lock", name = "provider",
+		havingValue = "redis", matchIfMissing = true)
+public class RedisLockProvider implements LockProvider {
+	private final RedissonClient redissonClient;
+
+	@Override
+	public boolean tryLock(String key, long waitTime, long leaseTime, TimeUnit unit)
+			throws InterruptedException {
+		return redissonClient.getLock(key).tryLock(waitTime, leaseTime, unit);
+	}
+
+	@Override
+	public void unlock(String key) {
+		redissonClient.getLock(key).unlock();
+	}
+}
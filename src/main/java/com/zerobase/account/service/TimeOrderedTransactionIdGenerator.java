@@ -0,0 +1,54 @@
+package com.zerobase.account.service;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 시간순 거래 id
+ * 상위 64bit = 현재 시각(ms, 48bit) + 노드 id(16bit), 하위 64bit = 노드 내 카운터
+ * 카운터 시작값만 SecureRandom 으로 정하고 이후에는 CAS 한 번으로 만든다.
+ * 고정 길이 hex 라 문자열 순서가 생성 시각 순서와 같아서 transaction_id 인덱스 끝쪽에만 쌓인다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "account.transaction-id", name = "generator",
+		havingValue = "time-ordered", matchIfMissing = true)
+public class TimeOrderedTransactionIdGenerator implements TransactionIdGenerator {
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+	private static final int NODE_BITS = 16;
+	private static final int NODE_MASK = (1 << NODE_BITS) - 1;
+
+	private final long node;
+	private final AtomicLong counter;
+
+	/**
+	 * @param nodeId 0 ~ 65535, 음수이면 기동 시 임의로 정한다.
+	 */
+	public TimeOrderedTransactionIdGenerator(
+			@Value("${account.transaction-id.node-id:-1}") int nodeId) {
+		SecureRandom random = new SecureRandom();
+		this.node = (nodeId < 0 ? random.nextInt() : nodeId) & NODE_MASK;
+		this.counter = new AtomicLong(random.nextLong());
+	}
+
+	@Override
+	public String nextId() {
+		long high = (System.currentTimeMillis() << NODE_BITS) | node;
+		long low = counter.getAndIncrement();
+
+		char[] buffer = new char[32];
+		writeHex(buffer, 0, high);
+		writeHex(buffer, 16, low);
+		return new String(buffer);
+	}
+
+	private static void writeHex(char[] buffer, int offset, long value) {
+		for (int i = offset + 15; i >= offset; i--) {
+			buffer[i] = HEX[(int) (value & 0xF)];
+			value >>>= 4;
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package com.zerobase.account.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zerobase.account.domain.AggregationWatermark;
+import com.zerobase.account.domain.Transaction;
+import com.zerobase.account.domain.TransactionArchive;
+import com.zerobase.account.repository.AggregationWatermarkRepository;
+import com.zerobase.account.repository.TransactionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 취소 가능 기간(1년) + grace 가 지난 거래를 transaction 테이블에서 transaction_archive 로 옮긴다.
+ * 1. watermark row 를 lock 으로 잡고 마지막으로 옮긴 id 이후 거래를 chunk-size 건씩 id 순으로 읽는다.
+ * 2. 앞에서부터 기간이 지난 거래만 옮기고, 기간이 남은 거래를 만나면 멈춘다.
+ * 3. archive insert, transaction delete, watermark 이동은 한 트랜잭션에서 처리한다.
+ * 일별 집계를 사용하면 아직 집계되지 않은 거래는 옮기지 않는다.
+ */
+@Slf4j
+@Service
+public class TransactionArchiveService {
+	static final String WATERMARK_NAME = "TRANSACTION_ARCHIVE";
+
+	private final TransactionRepository transactionRepository;
+	private final AggregationWatermarkRepository aggregationWatermarkRepository;
+	private final EntityManager entityManager;
+	private final TransactionTemplate transactionTemplate;
+	private final boolean enabled;
+	private final boolean summaryEnabled;
+	private final int chunkSize;
+	private final Duration grace;
+
+	public TransactionArchiveService(
+			TransactionRepository transactionRepository,
+			AggregationWatermarkRepository aggregationWatermarkRepository,
+			EntityManager entityManager,
+			PlatformTransactionManager transactionManager,
+			@Value("${account.archive.enabled:true}") boolean enabled,
+			@Value("${account.summary.enabled:true}") boolean summaryEnabled,
+			@Value("${account.archive.chunk-size:1000}") int chunkSize,
+			@Value("${account.archive.grace:1d}") Duration grace) {
+		this.transactionRepository = transactionRepository;
+		this.aggregationWatermarkRepository = aggregationWatermarkRepository;
+		this.entityManager = entityManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.enabled = enabled;
+		this.summaryEnabled = summaryEnabled;
+		this.chunkSize = chunkSize;
+		this.grace = grace;
+	}
+
+	@Scheduled(fixedDelayString = "${account.archive.interval:3600000}")
+	public void archive() {
+		if (!enabled) {
+			return;
+		}
+
+		try {
+			long total = 0;
+			int archived;
+			do {
+				archived = archiveChunk();
+				total += archived;
+			} while (archived == chunkSize);
+
+			if (total > 0) {
+				log.info("Archived {} transactions", total);
+			}
+		} catch (RuntimeException e) {
+			// 다음 주기에 같은 watermark 부터 다시 시도한다.
+			log.error("Failed to archive transactions", e);
+		}
+	}
+
+	/**
+	 * @return 옮긴 거래 수 (chunk-size 보다 작으면 지금 옮길 거래가 더 없다)
+	 */
+	int archiveChunk() {
+		Integer archived = transactionTemplate.execute(status -> {
+			AggregationWatermark watermark = aggregationWatermarkRepository
+					.findByName(WATERMARK_NAME)
+					.orElseGet(() -> AggregationWatermark.builder()
+							.name(WATERMARK_NAME)
+							.lastTransactionId(0L)
+							.build());
+
+			List<Transaction> expired = expired(transactionRepository.findArchiveCandidates(
+					watermark.getLastTransactionId(), PageRequest.of(0, chunkSize)));
+			if (expired.isEmpty()) {
+				return 0;
+			}
+
+			LocalDateTime archivedAt = LocalDateTime.now();
+			// id 가 정해져 있으므로 save(merge) 대신 persist 로 select 없이 batch insert 한다.
+			expired.forEach(transaction ->
+					entityManager.persist(TransactionArchive.from(transaction, archivedAt)));
+			transactionRepository.deleteAllByIdInBatch(expired.stream()
+					.map(Transaction::getId)
+					.collect(Collectors.toList()));
+
+			watermark.setLastTransactionId(expired.get(expired.size() - 1).getId());
+			aggregationWatermarkRepository.save(watermark);
+			return expired.size();
+		});
+		return archived == null ? 0 : archived;
+	}
+
+	private List<Transaction> expired(List<Transaction> candidates) {
+		LocalDateTime archiveBefore = LocalDateTime.now().minusYears(1).minus(grace);
+
+		List<Transaction> expired = new ArrayList<>(candidates.size());
+		for (Transaction transaction : candidates) {
+			if ((summaryEnabled && !transaction.isAggregated())
+					|| !transaction.getTransactedAt().isBefore(archiveBefore)) {
+				break;
+			}
+			expired.add(transaction);
+		}
+		return expired;
+	}
+}
@@ -0,0 +1,144 @@
+package com.zerobase.account.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.codec.TypedJsonJacksonCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zerobase.account.dto.TransactionDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * transactionId 로 조회하는 거래 캐시
+ * 거래는 한 번 저장되면 바뀌지 않으므로 저장 시점에 채워 두고 조회 시 DB 대신 사용한다.
+ * 1차 : 노드 로컬 캐시 (크기/TTL 제한)
+ * 2차 : Redis (account.cache.transaction.redis-enabled 설정 시)
+ * 캐시된 TransactionDto 는 여러 요청이 같이 사용하므로 수정하지 않는다.
+ */
+@Slf4j
+@Component
+public class TransactionCache {
+	private static final String REDIS_KEY_PREFIX = "TXC:";
+
+	private final Cache<String, TransactionDto> localCache;
+	private final RedissonClient redissonClient;
+	private final TypedJsonJacksonCodec codec;
+	private final boolean redisEnabled;
+	private final Duration redisTtl;
+	private final Counter redisHitCounter;
+	private final Counter redisMissCounter;
+
+	public TransactionCache(
+			RedissonClient redissonClient,
+			ObjectMapper objectMapper,
+			MeterRegistry meterRegistry,
+			@Value("${account.cache.transaction.maximum-size:100000}") long maximumSize,
+			@Value("${account.cache.transaction.expire-after-write:10m}") Duration expireAfterWrite,
+			@Value("${account.cache.transaction.redis-enabled:false}") boolean redisEnabled,
+			@Value("${account.cache.transaction.redis-ttl:1h}") Duration redisTtl) {
+		this.localCache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(expireAfterWrite)
+				.recordStats()
+				.build();
+		this.redissonClient = redissonClient;
+		this.codec = new TypedJsonJacksonCodec(TransactionDto.class, objectMapper);
+		this.redisEnabled = redisEnabled;
+		this.redisTtl = redisTtl;
+
+		CaffeineCacheMetrics.monitor(meterRegistry, localCache, "transaction");
+		this.redisHitCounter = meterRegistry.counter(
+				"account.cache.redis", "cache", "transaction", "result", "hit");
+		this.redisMissCounter = meterRegistry.counter(
+				"account.cache.redis", "cache", "transaction", "result", "miss");
+	}
+
+	/**
+	 * 로컬 -> Redis -> loader 순서로 조회하고 찾은 값은 앞 단계 캐시에 채운다.
+	 * 없는 거래는 캐시하지 않는다.
+	 */
+	public Optional<TransactionDto> get(
+			String transactionId,
+			Function<String, Optional<TransactionDto>> loader) {
+		return Optional.ofNullable(localCache.get(transactionId,
+				id -> loadFromRedis(id, loader)));
+	}
+
+	/**
+	 * 트랜잭션 안에서 호출되면 커밋 이후에 캐시에 넣는다. (롤백된 거래가 캐시에 남지 않도록)
+	 */
+	public void putAfterCommit(TransactionDto transactionDto) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			put(transactionDto);
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(
+				new TransactionSynchronization() {
+					@Override
+					public void afterCommit() {
+						put(transactionDto);
+					}
+				});
+	}
+
+	public void put(TransactionDto transactionDto) {
+		localCache.put(transactionDto.getTransactionId(), transactionDto);
+		putToRedis(transactionDto);
+	}
+
+	private TransactionDto loadFromRedis(
+			String transactionId,
+			Function<String, Optional<TransactionDto>> loader) {
+		if (redisEnabled) {
+			try {
+				TransactionDto cached = bucket(transactionId).get();
+				if (cached != null) {
+					redisHitCounter.increment();
+					return cached;
+				}
+				redisMissCounter.increment();
+			} catch (RuntimeException e) {
+				log.warn("Failed to read transaction cache from redis: " + e);
+			}
+		}
+
+		TransactionDto loaded = loader.apply(transactionId).orElse(null);
+		if (loaded != null) {
+			putToRedis(loaded);
+		}
+		return loaded;
+	}
+
+	private void putToRedis(TransactionDto transactionDto) {
+		if (!redisEnabled) {
+			return;
+		}
+
+		try {
+			bucket(transactionDto.getTransactionId())
+					.set(transactionDto, redisTtl.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (RuntimeException e) {
+			log.warn("Failed to write transaction cache to redis: " + e);
+		}
+	}
+
+	private RBucket<TransactionDto> bucket(String transactionId) {
+		return redissonClient.getBucket(REDIS_KEY_PREFIX + transactionId, codec);
+	}
+}
@@ -0,0 +1,139 @@
+package com.zerobase.account.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.account.domain.Transaction;
+import com.zerobase.account.dto.TransactionDto;
+import com.zerobase.account.repository.TransactionArchiveRepository;
+import com.zerobase.account.repository.TransactionRepository;
+import com.zerobase.account.type.ExportFormat;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 전체 거래 export (CSV / NDJSON)
+ * 거래를 커서로 한 행씩 읽어 바로 응답 스트림에 쓰고,
+ * clear-interval 건마다 flush 후 영속성 컨텍스트를 비워 행 수와 관계없이 메모리를 일정하게 유지한다.
+ * transaction 테이블 다음에 보관(archive)된 거래를 이어서 내보낸다.
+ * 보관 작업과 동시에 실행되면 그 사이 옮겨진 거래가 두 번 나올 수 있다. (transactionId 로 구분)
+ */
+@Slf4j
+@Service
+public class TransactionExportService {
+	private static final String CSV_HEADER =
+			"accountNumber,transactionType,transactionResultType,"
+			+ "amount,balanceSnapshot,transactionId,transactedAt";
+
+	private final TransactionRepository transactionRepository;
+	private final TransactionArchiveRepository transactionArchiveRepository;
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
+	private final TransactionTemplate transactionTemplate;
+	private final int clearInterval;
+
+	public TransactionExportService(
+			TransactionRepository transactionRepository,
+			TransactionArchiveRepository transactionArchiveRepository,
+			EntityManager entityManager,
+			ObjectMapper objectMapper,
+			PlatformTransactionManager transactionManager,
+			@Value("${account.export.clear-interval:1000}") int clearInterval) {
+		this.transactionRepository = transactionRepository;
+		this.transactionArchiveRepository = transactionArchiveRepository;
+		this.entityManager = entityManager;
+		this.objectMapper = objectMapper;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.clearInterval = clearInterval;
+	}
+
+	/**
+	 * 스트림은 트랜잭션(커넥션)이 열려 있는 동안만 읽을 수 있으므로
+	 * 조회부터 응답 쓰기까지 읽기 전용 트랜잭션 하나에서 처리한다.
+	 * @return 내보낸 거래 수
+	 */
+	public long export(ExportFormat format, OutputStream outputStream) {
+		Long exported = transactionTemplate.execute(status -> {
+			Writer writer = new BufferedWriter(
+					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+			long count = 0;
+
+			try {
+				if (format == ExportFormat.CSV) {
+					writer.write(CSV_HEADER);
+					writer.write('\n');
+				}
+
+				try (Stream<Transaction> transactions =
+						transactionRepository.streamAllForExport()) {
+					count = writeRows(format, writer,
+							transactions.map(TransactionDto::fromEntity).iterator(), count);
+				}
+
+				try (Stream<TransactionDto> archived =
+						transactionArchiveRepository.streamAllForExport()) {
+					count = writeRows(format, writer, archived.iterator(), count);
+				}
+				writer.flush();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return count;
+		});
+
+		log.info("Exported transactions. format : {}, count : {}", format, exported);
+		return exported;
+	}
+
+	private long writeRows(ExportFormat format, Writer writer,
+			Iterator<TransactionDto> iterator, long count) throws IOException {
+		while (iterator.hasNext()) {
+			writeRow(format, writer, iterator.next());
+
+			if (++count % clearInterval == 0) {
+				writer.flush();
+				entityManager.clear();
+			}
+		}
+		return count;
+	}
+
+	private void writeRow(ExportFormat format, Writer writer, TransactionDto transaction)
+			throws IOException {
+		if (format == ExportFormat.NDJSON) {
+			writer.write(objectMapper.writeValueAsString(transaction));
+		} else {
+			// 모든 컬럼이 숫자, enum, 16진수 id, ISO 시각이라 따옴표 처리가 필요 없다.
+			writer.write(transaction.getAccountNumber());
+			writer.write(',');
+			writer.write(transaction.getTransactionType().name());
+			writer.write(',');
+			writer.write(transaction.getTransactionResultType().name());
+			writer.write(',');
+			writer.write(String.valueOf(transaction.getAmount()));
+			writer.write(',');
+			writer.write(String.valueOf(transaction.getBalanceSnapshot()));
+			writer.write(',');
+			writer.write(transaction.getTransactionId());
+			writer.write(',');
+			writer.write(String.valueOf(transaction.getTransactedAt()));
+		}
+		writer.write('\n');
+	}
+}
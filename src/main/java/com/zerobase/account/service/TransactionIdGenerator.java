@@ -0,0 +1,11 @@
+package com.zerobase.account.service;
+
+/**
+ * 거래 id(32자리 hex) 생성기
+ * account.transaction-id.generator 설정값으로 구현체를 선택한다.
+ * - time-ordered(기본값) : 시간 + 노드 + 카운터, 생성 순서대로 정렬되어 인덱스에 유리
+ * - uuid : UUID v4 에서 '-' 를 뺀 기존 방식
+ */
+public interface TransactionIdGenerator {
+	String nextId();
+}
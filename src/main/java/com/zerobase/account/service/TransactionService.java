@@ -1,20 +1,32 @@
 package com.zerobase.account.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.zerobase.account.domain.Account;
-import com.zerobase.account.domain.AccountUser;
 import com.zerobase.account.domain.Transaction;
+import com.zerobase.account.dto.AccountDto;
+import com.zerobase.account.dto.BatchTransaction;
+import com.zerobase.account.dto.FailedTransaction;
 import com.zerobase.account.dto.TransactionDto;
+import com.zerobase.account.dto.TransactionHistory;
+import com.zerobase.account.dto.TransactionHistoryDto;
 import com.zerobase.account.exception.AccountException;
 import com.zerobase.account.repository.AccountRepository;
 import com.zerobase.account.repository.AccountUserRepository;
+import com.zerobase.account.repository.TransactionArchiveRepository;
 import com.zerobase.account.repository.TransactionRepository;
 import com.zerobase.account.type.AccountStatus;
 import com.zerobase.account.type.ErrorCode;
@@ -26,34 +38,110 @@ import lombok.RequiredArgsConstructor;
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
+	private static final int MAX_HISTORY_SIZE = 100;
+	
 	private final TransactionRepository transactionRepository;
 	private final AccountUserRepository accountUserRepository;
 	private final AccountRepository accountRepository;
+	private final TransactionCache transactionCache;
+	private final TransactionIdGenerator transactionIdGenerator;
+	private final AccountListCache accountListCache;
+	private final TransactionArchiveRepository transactionArchiveRepository;
 	
+	/**
+	 * 계좌와 소유주 확인은 쿼리 한 번으로 하고,
+	 * 조회되지 않은 경우에만 사용자/계좌를 따로 확인해 오류를 구분한다.
+	 */
 	@Transactional
 	public TransactionDto useBalance(
 			Long userId, String accountNumber, Long amount) {
-		AccountUser user = accountUserRepository.findById(userId)
-			.orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+		Account account = accountRepository
+			.findByAccountNumberAndUserId(accountNumber, userId)
+			.orElseThrow(() -> new AccountException(
+				getUseBalanceNotFoundError(userId, accountNumber)));
+
+		validateUseBalance(account, amount);
 		
+		return TransactionDto.fromEntity(saveAndGetTransaction(
+				buildTransaction(
+					TransactionType.USE,
+					TransactionResultType.S,
+					amount,
+					decreaseBalance(account, amount))));
+	}
+
+	/**
+	 * 읽은 이후 계좌가 바뀌지 않았으면(version 일치) 새 잔액을 계산해서 쓰고 다시 조회하지 않는다.
+	 * 그 사이 다른 거래가 있었으면 UPDATE 조건으로 다시 확인하고 바뀐 잔액을 읽어온다.
+	 */
+	private Account decreaseBalance(Account account, Long amount) {
+		if (accountRepository.decreaseBalanceIfUnchanged(
+				account.getId(), account.getVersion(), amount) == 1) {
+			account.useBalance(amount);
+			return putChangedAccount(account);
+		}
+		
+		String accountNumber = account.getAccountNumber();
+		if (accountRepository.decreaseBalance(accountNumber, amount) == 0) {
+			throw new AccountException(
+				getAccount(accountNumber).getAccountStatus() == AccountStatus.IN_USE
+					? ErrorCode.AMOUNT_EXCEED_BALANCE
+					: ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+		}
+		return putChangedAccount(getAccount(accountNumber));
+	}
+
+	private Account increaseBalance(Account account, Long amount) {
+		if (accountRepository.increaseBalanceIfUnchanged(
+				account.getId(), account.getVersion(), amount) == 1) {
+			account.cancelBalance(amount);
+			return putChangedAccount(account);
+		}
 		
-		Account account = accountRepository.findByAccountNumber(accountNumber)
+		accountRepository.increaseBalance(account.getAccountNumber(), amount);
+		return putChangedAccount(getAccount(account.getAccountNumber()));
+	}
+
+	private Account getAccount(String accountNumber) {
+		return accountRepository.findByAccountNumber(accountNumber)
 			.orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+	}
+
+	/**
+	 * 잔액 UPDATE 가 영속성 컨텍스트를 비우므로 account 는 준영속 상태다.
+	 * 바뀐 잔액을 사용자별 계좌 목록 캐시에 반영한다.
+	 */
+	private Account putChangedAccount(Account account) {
+		accountListCache.putAfterCommit(AccountDto.fromEntity(account));
+		return account;
+	}
 
-		validateUseBalance(user, account, amount);
+	private ErrorCode getUseBalanceNotFoundError(Long userId, String accountNumber) {
+		if (!accountUserRepository.existsById(userId)) {
+			return ErrorCode.USER_NOT_FOUND;
+		}
 		
-		account.useBalance(amount);
+		return accountRepository.existsByAccountNumber(accountNumber)
+			? ErrorCode.USER_ACCOUNT_UNMATCH
+			: ErrorCode.ACCOUNT_NOT_FOUND;
+	}
+
+	private void validateUseBalance(Account account, Long amount) {
+		if (account.getAccountStatus() != AccountStatus.IN_USE) {
+			throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+		}
 		
-		return TransactionDto.fromEntity(saveAndGetTransaction(
-				TransactionType.USE,
-				TransactionResultType.S,
-				amount,
-				account));
+		if (account.getBalance() < amount) {
+			throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+		}
 	}
 
-	private void validateUseBalance(
-			AccountUser user, Account account, Long amount) {
-		if (user.getId() != account.getAccountUser().getId()) {
+	/**
+	 * 엔티티로 잔액을 바꾸는 경로(일괄 거래, BalanceLedger)용 검증
+	 */
+	void validateUseBalance(
+			Long userId, Account account, Long amount) {
+		if (!Objects.equals(userId, account.getAccountUser().getId())) {
 			throw new AccountException(ErrorCode.USER_ACCOUNT_UNMATCH);
 		}
 		
@@ -66,83 +154,294 @@ public class TransactionService {
 		}
 	}
 
-	@Transactional
-	public void saveFailedUseTransaction(String accountNumber, Long amount) {
-		Account account = accountRepository.findByAccountNumber(accountNumber)
-			.orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+	private Transaction saveAndGetTransaction(Transaction transaction) {
+		Transaction savedTransaction = transactionRepository.save(transaction);
+		
+		transactionCache.putAfterCommit(TransactionDto.fromEntity(savedTransaction));
 		
-		saveAndGetTransaction(
-			TransactionType.USE, TransactionResultType.F,
-			amount, account);
+		return savedTransaction;
 	}
 
-	private Transaction saveAndGetTransaction(
+	Transaction buildTransaction(
 			TransactionType transactionType,
 			TransactionResultType transactionResultType,
 			Long amount,
 			Account account) {
-		return transactionRepository.save(
-			Transaction.builder()
-				.transactionType(transactionType)
-				.transactionResultType(transactionResultType)
-				.account(account)
-				.amount(amount)
-				.balanceSnapshot(account.getBalance())
-				.transactionId(UUID.randomUUID().toString().replace("-", ""))
-				.transactedAt(LocalDateTime.now())
-				.build()
-		);
+		return buildTransaction(transactionType, transactionResultType,
+			amount, account, LocalDateTime.now());
+	}
+
+	private Transaction buildTransaction(
+			TransactionType transactionType,
+			TransactionResultType transactionResultType,
+			Long amount,
+			Account account,
+			LocalDateTime transactedAt) {
+		return Transaction.builder()
+			.transactionType(transactionType)
+			.transactionResultType(transactionResultType)
+			.account(account)
+			.amount(amount)
+			.balanceSnapshot(account.getBalance())
+			.transactionId(transactionIdGenerator.nextId())
+			.transactedAt(transactedAt)
+			.build();
+	}
+
+	/**
+	 * 성공한 취소 거래는 원 거래와 연결하고 원 거래의 누적 취소 금액을 함께 남긴다.
+	 * 원 거래에 cancel(amount) 를 반영한 뒤 호출한다.
+	 */
+	Transaction buildCancelTransaction(
+			Transaction original, Long amount, Account account) {
+		Transaction transaction = buildTransaction(
+			TransactionType.CANCEL, TransactionResultType.S, amount, account);
+		transaction.setOriginalTransactionId(original.getTransactionId());
+		transaction.setCancelledAmount(original.getCancelledAmount());
+		return transaction;
 	}
 
 	@Transactional
 	public TransactionDto cancelBalance(
 			String transactionId, String accountNumber, Long amount) {
-		Transaction transaction = transactionRepository.findByTransactionId(transactionId)
-				.orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+		Transaction transaction = transactionRepository.findWithAccountByTransactionId(transactionId)
+				.orElseThrow(() -> new AccountException(getCancelNotFoundError(transactionId)));
 		
-		Account account = accountRepository.findByAccountNumber(accountNumber)
-				.orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+		// 원 거래의 계좌와 같으면 계좌를 다시 조회하지 않는다.
+		Account account = accountNumber.equals(transaction.getAccount().getAccountNumber())
+				? transaction.getAccount()
+				: getAccount(accountNumber);
 		
 		validateCancelBalance(transaction, account, amount);
 		
-		account.cancelBalance(amount);
+		// 잔액 UPDATE 가 영속성 컨텍스트를 비우기 전에 원 거래의 누적 취소 금액을 바꿔 함께 flush 한다.
+		transaction.cancel(amount);
 		
 		return TransactionDto.fromEntity(
 			saveAndGetTransaction(
-				TransactionType.CANCEL,
-				TransactionResultType.S,
-				amount,
-				account));
+				buildCancelTransaction(transaction, amount, increaseBalance(account, amount))));
+	}
+
+	/**
+	 * transaction 테이블에 없는 원 거래가 보관(archive)된 거래이면 취소 가능 기간이 지난 것이다.
+	 */
+	ErrorCode getCancelNotFoundError(String transactionId) {
+		return transactionArchiveRepository.existsByTransactionId(transactionId)
+			? ErrorCode.TOO_OLD_ORDER_TO_CANCEL
+			: ErrorCode.TRANSACTION_NOT_FOUND;
 	}
 
-	private void validateCancelBalance(
+	void validateCancelBalance(
 			Transaction transaction, Account account, Long amount) {
 		if (!Objects.equals(transaction.getAccount().getId(), account.getId())) {
 			throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH);
 		}
 		
-		if(!Objects.equals(transaction.getAmount(), amount)) {
-			throw new AccountException(ErrorCode.CANCEL_MUST_FULLY);
-		}
+		transaction.validateCancelAmount(amount);
 		
 		if(transaction.getTransactedAt().isBefore(LocalDateTime.now().minusYears(1))) {
 			throw new AccountException(ErrorCode.TOO_OLD_ORDER_TO_CANCEL);
 		}
 	}
 
+	/**
+	 * 실패 거래 일괄 저장 (FailedTransactionJournal 에서 호출)
+	 * 계좌는 한 번에 조회하고, 없는 계좌의 실패 거래는 기존처럼 남기지 않는다.
+	 */
+	@Transactional
+	public void saveFailedTransactions(List<FailedTransaction> failedTransactions) {
+		Set<String> accountNumbers = failedTransactions.stream()
+			.map(FailedTransaction::getAccountNumber)
+			.collect(Collectors.toSet());
+		
+		Map<String, Account> accounts = accountRepository.findAllByAccountNumberIn(accountNumbers)
+			.stream()
+			.collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+		
+		List<Transaction> transactions = new ArrayList<>(failedTransactions.size());
+		for (FailedTransaction failedTransaction : failedTransactions) {
+			Account account = accounts.get(failedTransaction.getAccountNumber());
+			if (account == null) {
+				continue;
+			}
+			
+			transactions.add(buildTransaction(
+				failedTransaction.getTransactionType(),
+				TransactionResultType.F,
+				failedTransaction.getAmount(),
+				account,
+				failedTransaction.getTransactedAt()));
+		}
+		
+		if (transactions.isEmpty()) {
+			return;
+		}
+		
+		transactionRepository.saveAll(transactions)
+			.forEach(transaction ->
+				transactionCache.putAfterCommit(TransactionDto.fromEntity(transaction)));
+	}
+
+	/**
+	 * 한 계좌에 대한 일괄 거래
+	 * 호출하는 쪽에서 계좌 lock 을 잡은 상태로 호출하며 요청 순서대로 잔액에 반영한다.
+	 * 잔액은 메모리에서 바꾼 뒤 커밋 시 한 번만 UPDATE 되고(@Version 확인),
+	 * 실패한 항목도 실패 거래로 남기며 거래 내역은 saveAll 로 한 번에 저장한다.
+	 */
 	@Transactional
-	public void saveFailedCancelTransaction(String accountNumber, Long amount) {
-		Account account = accountRepository.findByAccountNumber(accountNumber)
-				.orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+	public List<BatchTransaction.Result> applyBatch(
+			String accountNumber, List<BatchTransaction.Item> items) {
+		Account account = getAccount(accountNumber);
+		Map<String, Transaction> originalTransactions = findOriginalTransactions(items);
+		
+		List<Transaction> transactions = new ArrayList<>(items.size());
+		List<ErrorCode> errorCodes = new ArrayList<>(items.size());
+		for (BatchTransaction.Item item : items) {
+			ErrorCode errorCode = null;
+			Transaction transaction;
+			try {
+				transaction = applyBatchItem(item, account, originalTransactions);
+			} catch (AccountException e) {
+				errorCode = e.getErrorCode();
+				transaction = buildTransaction(
+					item.getTransactionType(), TransactionResultType.F, item.getAmount(), account);
+			}
+			
+			transactions.add(transaction);
+			errorCodes.add(errorCode);
+		}
+		
+		List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+		accountListCache.putAfterCommit(AccountDto.fromEntity(account));
 		
-		saveAndGetTransaction(TransactionType.CANCEL, TransactionResultType.F, amount, account);
+		List<BatchTransaction.Result> results = new ArrayList<>(savedTransactions.size());
+		for (int i = 0; i < savedTransactions.size(); i++) {
+			TransactionDto transactionDto = TransactionDto.fromEntity(savedTransactions.get(i));
+			transactionCache.putAfterCommit(transactionDto);
+			results.add(BatchTransaction.Result.from(transactionDto, errorCodes.get(i)));
+		}
+		return results;
+	}
+
+	/**
+	 * 원 거래는 영속 상태라 누적 취소 금액 변경이 커밋 시 함께 반영된다.
+	 */
+	private Transaction applyBatchItem(
+			BatchTransaction.Item item,
+			Account account,
+			Map<String, Transaction> originalTransactions) {
+		if (item.getTransactionType() == TransactionType.USE) {
+			validateAccountUser(item.getUserId(), account);
+			validateUseBalance(item.getUserId(), account, item.getAmount());
+			account.useBalance(item.getAmount());
+			return buildTransaction(
+				TransactionType.USE, TransactionResultType.S, item.getAmount(), account);
+		}
+		
+		Transaction original = originalTransactions.get(item.getTransactionId());
+		if (original == null) {
+			throw new AccountException(getCancelNotFoundError(item.getTransactionId()));
+		}
+		
+		validateCancelBalance(original, account, item.getAmount());
+		original.cancel(item.getAmount());
+		account.cancelBalance(item.getAmount());
+		return buildCancelTransaction(original, item.getAmount(), account);
 	}
 
+	/**
+	 * 사용자 조회는 소유주가 다른 경우에만 해서 없는 사용자와 소유주 불일치를 구분한다.
+	 */
+	void validateAccountUser(Long userId, Account account) {
+		if (userId == null) {
+			throw new AccountException(ErrorCode.INVALID_REQUEST);
+		}
+		
+		if (!Objects.equals(userId, account.getAccountUser().getId())
+				&& !accountUserRepository.existsById(userId)) {
+			throw new AccountException(ErrorCode.USER_NOT_FOUND);
+		}
+	}
+
+	private Map<String, Transaction> findOriginalTransactions(
+			List<BatchTransaction.Item> items) {
+		List<String> transactionIds = items.stream()
+			.filter(item -> item.getTransactionType() == TransactionType.CANCEL)
+			.map(BatchTransaction.Item::getTransactionId)
+			.filter(Objects::nonNull)
+			.distinct()
+			.collect(Collectors.toList());
+		
+		if (transactionIds.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		
+		return transactionRepository.findAllByTransactionIdIn(transactionIds)
+			.stream()
+			.collect(Collectors.toMap(Transaction::getTransactionId, Function.identity()));
+	}
+
+	/**
+	 * 계좌 거래 내역 (최신순, keyset 페이지)
+	 * size + 1 건을 읽어서 다음 페이지가 있는지 확인하고, 있으면 마지막 건으로 cursor 를 만든다.
+	 */
+	@Transactional
+	public TransactionHistory.Response getTransactionHistory(
+			String accountNumber, String cursor, int size) {
+		if (size < 1 || size > MAX_HISTORY_SIZE) {
+			throw new AccountException(ErrorCode.INVALID_REQUEST);
+		}
+		
+		Account account = getAccount(accountNumber);
+		List<TransactionHistoryDto> histories = findHistory(account.getId(),
+			cursor == null ? null : TransactionHistory.Cursor.decode(cursor), size + 1);
+		
+		boolean hasNext = histories.size() > size;
+		List<TransactionHistoryDto> page = hasNext ? histories.subList(0, size) : histories;
+		
+		return new TransactionHistory.Response(
+			accountNumber,
+			page.stream()
+				.map(TransactionHistory.Item::from)
+				.collect(Collectors.toList()),
+			hasNext ? TransactionHistory.Cursor.from(page.get(size - 1)).encode() : null);
+	}
+
+	/**
+	 * transaction 테이블에서 limit 건을 채우지 못하면 archive 에서 이어서 읽는다.
+	 * (archive 의 거래는 transaction 테이블에 남은 거래보다 오래되었다)
+	 */
+	private List<TransactionHistoryDto> findHistory(
+			Long accountId, TransactionHistory.Cursor after, int limit) {
+		PageRequest pageRequest = PageRequest.of(0, limit);
+		List<TransactionHistoryDto> histories = new ArrayList<>(limit);
+		histories.addAll(after == null
+			? transactionRepository.findHistory(accountId, pageRequest)
+			: transactionRepository.findHistoryAfter(accountId,
+				after.getTransactedAt(), after.getId(), pageRequest));
+		if (histories.size() == limit) {
+			return histories;
+		}
+		
+		TransactionHistory.Cursor archiveAfter = histories.isEmpty()
+			? after
+			: TransactionHistory.Cursor.from(histories.get(histories.size() - 1));
+		PageRequest archivePageRequest = PageRequest.of(0, limit - histories.size());
+		histories.addAll(archiveAfter == null
+			? transactionArchiveRepository.findHistory(accountId, archivePageRequest)
+			: transactionArchiveRepository.findHistoryAfter(accountId,
+				archiveAfter.getTransactedAt(), archiveAfter.getId(), archivePageRequest));
+		return histories;
+	}
+
+	/**
+	 * transaction 테이블에 없으면 archive 에서 찾는다.
+	 */
 	@Transactional
 	public TransactionDto queryTransactionId(String transactionId) {
-		return TransactionDto.fromEntity(
-			transactionRepository.findByTransactionId(transactionId)
-				.orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND))
-		);
+		return transactionCache.get(transactionId, id ->
+					transactionRepository.findDtoByTransactionId(id)
+						.or(() -> transactionArchiveRepository.findDtoByTransactionId(id)))
+				.orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
 	}
 }
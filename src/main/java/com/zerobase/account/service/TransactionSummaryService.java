@@ -0,0 +1,220 @@
+package com.zerobase.account.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zerobase.account.domain.Account;
+import com.zerobase.account.domain.AggregationWatermark;
+import com.zerobase.account.domain.DailyTransactionSummary;
+import com.zerobase.account.dto.DailySummary;
+import com.zerobase.account.dto.TransactionAggregateDto;
+import com.zerobase.account.exception.AccountException;
+import com.zerobase.account.repository.AccountRepository;
+import com.zerobase.account.repository.AggregationWatermarkRepository;
+import com.zerobase.account.repository.DailyTransactionSummaryRepository;
+import com.zerobase.account.repository.TransactionRepository;
+import com.zerobase.account.type.ErrorCode;
+import com.zerobase.account.type.TransactionResultType;
+import com.zerobase.account.type.TransactionType;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 계좌별 일별 거래 집계 (DailyTransactionSummary)
+ * 1. watermark row 를 lock 으로 잡고 아직 집계하지 않은 거래를 chunk-size 건씩 id 순으로 읽는다.
+ * 2. (계좌, 거래일, 거래 종류, 거래 결과) 별로 건수와 금액을 더해 기존 집계에 누적하고,
+ *    같은 트랜잭션에서 읽은 거래를 집계됨으로 표시한다. (실패하면 둘 다 롤백되어 중복 집계되지 않는다)
+ * id 는 노드별로 미리 받아 둔 구간에서 발급되어 커밋 순서와 다르므로, 진행 위치(id) 대신
+ * 거래마다 집계 여부를 남긴다. 늦게 커밋된 거래도 다음 주기에 집계된다.
+ */
+@Slf4j
+@Service
+public class TransactionSummaryService {
+	static final String WATERMARK_NAME = "DAILY_TRANSACTION_SUMMARY";
+	private static final int DEFAULT_DAYS = 30;
+
+	private final TransactionRepository transactionRepository;
+	private final AccountRepository accountRepository;
+	private final DailyTransactionSummaryRepository dailyTransactionSummaryRepository;
+	private final AggregationWatermarkRepository aggregationWatermarkRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final boolean enabled;
+	private final int chunkSize;
+	private final int maxDays;
+
+	public TransactionSummaryService(
+			TransactionRepository transactionRepository,
+			AccountRepository accountRepository,
+			DailyTransactionSummaryRepository dailyTransactionSummaryRepository,
+			AggregationWatermarkRepository aggregationWatermarkRepository,
+			PlatformTransactionManager transactionManager,
+			@Value("${account.summary.enabled:true}") boolean enabled,
+			@Value("${account.summary.chunk-size:1000}") int chunkSize,
+			@Value("${account.summary.max-days:366}") int maxDays) {
+		this.transactionRepository = transactionRepository;
+		this.accountRepository = accountRepository;
+		this.dailyTransactionSummaryRepository = dailyTransactionSummaryRepository;
+		this.aggregationWatermarkRepository = aggregationWatermarkRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.enabled = enabled;
+		this.chunkSize = chunkSize;
+		this.maxDays = maxDays;
+	}
+
+	@Scheduled(fixedDelayString = "${account.summary.interval:60000}")
+	public void aggregate() {
+		if (!enabled) {
+			return;
+		}
+
+		try {
+			long total = 0;
+			int applied;
+			do {
+				applied = aggregateChunk();
+				total += applied;
+			} while (applied == chunkSize);
+
+			if (total > 0) {
+				log.info("Aggregated {} transactions into daily summary", total);
+			}
+		} catch (RuntimeException e) {
+			// 다음 주기에 같은 watermark 부터 다시 시도한다.
+			log.error("Failed to aggregate daily transaction summary", e);
+		}
+	}
+
+	/**
+	 * @return 집계에 반영한 거래 수 (chunk-size 보다 작으면 지금 집계할 거래가 더 없다)
+	 */
+	int aggregateChunk() {
+		Integer applied = transactionTemplate.execute(status -> {
+			AggregationWatermark watermark = aggregationWatermarkRepository
+					.findByName(WATERMARK_NAME)
+					.orElseGet(() -> AggregationWatermark.builder()
+							.name(WATERMARK_NAME)
+							.lastTransactionId(0L)
+							.build());
+
+			List<TransactionAggregateDto> rows = transactionRepository.findNotAggregated(
+					PageRequest.of(0, chunkSize));
+			if (rows.isEmpty()) {
+				return 0;
+			}
+
+			accumulate(rows);
+			transactionRepository.markAggregated(rows.stream()
+					.map(TransactionAggregateDto::getId)
+					.collect(Collectors.toList()));
+			// 마지막으로 집계한 id 는 참고용으로만 남긴다.
+			watermark.setLastTransactionId(rows.get(rows.size() - 1).getId());
+			aggregationWatermarkRepository.save(watermark);
+			return rows.size();
+		});
+		return applied == null ? 0 : applied;
+	}
+
+	private void accumulate(List<TransactionAggregateDto> rows) {
+		// key -> {건수, 금액}
+		Map<SummaryKey, long[]> totals = new HashMap<>();
+		for (TransactionAggregateDto row : rows) {
+			long[] total = totals.computeIfAbsent(SummaryKey.from(row), key -> new long[2]);
+			total[0]++;
+			total[1] += row.getAmount() == null ? 0L : row.getAmount();
+		}
+
+		Set<Long> accountIds = totals.keySet().stream()
+				.map(SummaryKey::getAccountId)
+				.collect(Collectors.toSet());
+		Set<LocalDate> summaryDates = totals.keySet().stream()
+				.map(SummaryKey::getSummaryDate)
+				.collect(Collectors.toSet());
+		Map<SummaryKey, DailyTransactionSummary> summaries = dailyTransactionSummaryRepository
+				.findAllForAggregation(accountIds, summaryDates)
+				.stream()
+				.collect(Collectors.toMap(SummaryKey::from, Function.identity()));
+
+		List<DailyTransactionSummary> changed = new ArrayList<>(totals.size());
+		totals.forEach((key, total) -> {
+			DailyTransactionSummary summary = summaries.get(key);
+			if (summary == null) {
+				summary = DailyTransactionSummary.builder()
+						.account(accountRepository.getReferenceById(key.getAccountId()))
+						.summaryDate(key.getSummaryDate())
+						.transactionType(key.getTransactionType())
+						.transactionResultType(key.getTransactionResultType())
+						.transactionCount(0L)
+						.totalAmount(0L)
+						.build();
+			}
+			summary.add(total[0], total[1]);
+			changed.add(summary);
+		});
+		dailyTransactionSummaryRepository.saveAll(changed);
+	}
+
+	/**
+	 * 계좌 일별 집계 조회, 기간을 주지 않으면 오늘까지 최근 30일
+	 */
+	@Transactional
+	public DailySummary.Response getDailySummary(
+			String accountNumber, LocalDate from, LocalDate to) {
+		LocalDate end = to == null ? LocalDate.now() : to;
+		LocalDate start = from == null ? end.minusDays(DEFAULT_DAYS - 1) : from;
+		if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= maxDays) {
+			throw new AccountException(ErrorCode.INVALID_REQUEST);
+		}
+
+		Account account = accountRepository.findByAccountNumber(accountNumber)
+				.orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+		return new DailySummary.Response(
+			accountNumber,
+			start,
+			end,
+			dailyTransactionSummaryRepository
+				.findByAccountIdAndSummaryDateBetween(account.getId(), start, end)
+				.stream()
+				.map(DailySummary.Item::from)
+				.collect(Collectors.toList()));
+	}
+
+	@Getter
+	@EqualsAndHashCode
+	@AllArgsConstructor
+	private static class SummaryKey {
+		private final Long accountId;
+		private final LocalDate summaryDate;
+		private final TransactionType transactionType;
+		private final TransactionResultType transactionResultType;
+
+		static SummaryKey from(TransactionAggregateDto row) {
+			return new SummaryKey(row.getAccountId(), row.getTransactedAt().toLocalDate(),
+					row.getTransactionType(), row.getTransactionResultType());
+		}
+
+		static SummaryKey from(DailyTransactionSummary summary) {
+			return new SummaryKey(summary.getAccount().getId(), summary.getSummaryDate(),
+					summary.getTransactionType(), summary.getTransactionResultType());
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package com.zerobase.account.service;
+
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "account.transaction-id", name = "generator", havingValue = "uuid")
+public class UuidTransactionIdGenerator implements TransactionIdGenerator {
+	@Override
+	public String nextId() {
+		return UUID.randomUUID().toString().replace("-", "");
+	}
+}
@@ -6,21 +6,32 @@ import lombok.Getter;
 @Getter
 @AllArgsConstructor
 public enum ErrorCode {
-	INVALID_SERVER_ERROR("내부 서버 오류가 발생하였습니다."),
-	INVALID_REQUEST("잘못된 요청입니다."),
-	USER_NOT_FOUND("사용자가 없습니다."),
-	ACCOUNT_NOT_FOUND("계좌가 없습니다."),
-	ACCOUNT_TRANSACTION_LOCK("해당 계좌는 사용 중입니다."),
-	TRANSACTION_NOT_FOUND("해당 거래가 없습니다."),
-	AMOUNT_EXCEED_BALANCE("거래 금액이 계좌 잔액보다 큽니다."),
-	TRANSACTION_ACCOUNT_UN_MATCH("이 거래는 해당 계좌에서 발생한 거래가 아닙니다."),
-	CANCEL_MUST_FULLY("부분 취소는 허용되지 않습니다."),
-	TOO_OLD_ORDER_TO_CANCEL("1년이 지난 거래는 취소가 불가능합니다."),
-	USER_ACCOUNT_UNMATCH("사용자와 계좌의 소유주가 다릅니다."),
-	ACCOUNT_ALREADY_UNREGISTERED("계좌가 이미 해지되었습니다."),
-	BALANCE_NOT_EMPTY("잔액이 있는 계좌는 해지할 수 없습니다."),
-	MAX_COUNT_PER_USER_10("사용자 최대 계좌는 10개입니다.")
+	INVALID_SERVER_ERROR("내부 서버 오류가 발생하였습니다.", false),
+	INVALID_REQUEST("잘못된 요청입니다.", true),
+	USER_NOT_FOUND("사용자가 없습니다.", true),
+	ACCOUNT_NOT_FOUND("계좌가 없습니다.", true),
+	ACCOUNT_TRANSACTION_LOCK("해당 계좌는 사용 중입니다.", true),
+	TRANSACTION_NOT_FOUND("해당 거래가 없습니다.", true),
+	AMOUNT_EXCEED_BALANCE("거래 금액이 계좌 잔액보다 큽니다.", true),
+	TRANSACTION_ACCOUNT_UN_MATCH("이 거래는 해당 계좌에서 발생한 거래가 아닙니다.", true),
+	TRANSACTION_NOT_CANCELLABLE("성공한 사용 거래만 취소할 수 있습니다.", true),
+	CANCEL_AMOUNT_EXCEED_REMAINING("취소 금액이 취소 가능한 잔여 금액보다 큽니다.", true),
+	TRANSACTION_ALREADY_CANCELLED("이미 전액 취소된 거래입니다.", true),
+	TOO_OLD_ORDER_TO_CANCEL("1년이 지난 거래는 취소가 불가능합니다.", true),
+	USER_ACCOUNT_UNMATCH("사용자와 계좌의 소유주가 다릅니다.", true),
+	ACCOUNT_ALREADY_UNREGISTERED("계좌가 이미 해지되었습니다.", true),
+	BALANCE_NOT_EMPTY("잔액이 있는 계좌는 해지할 수 없습니다.", true),
+	MAX_COUNT_PER_USER_10("사용자 최대 계좌는 10개입니다.", true),
+	IDEMPOTENCY_KEY_IN_USE("같은 Idempotency-Key 요청이 처리 중입니다.", true),
+	SERVICE_BUSY("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.", true),
+	TRANSACTION_RESULT_UNKNOWN("처리 결과를 확인하지 못했습니다. 같은 Idempotency-Key 로 다시 요청해 주세요.", true),
+	ACCOUNT_NUMBER_EXHAUSTED("발급 가능한 계좌번호가 없습니다.", false)
 	;
 
 	private String description;
+	/**
+	 * true : 요청 거절 등 정상적인 업무 오류 (스택 트레이스 없이 생성)
+	 * false : 서버 장애, 운영자가 확인해야 하는 오류
+	 */
+	private boolean business;
 }
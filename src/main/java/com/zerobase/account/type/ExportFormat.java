@@ -0,0 +1,26 @@
+package com.zerobase.account.type;
+
+import com.zerobase.account.exception.AccountException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ExportFormat {
+	CSV("text/csv", "csv"),
+	NDJSON("application/x-ndjson", "ndjson")
+	;
+
+	private String contentType;
+	private String extension;
+
+	public static ExportFormat from(String format) {
+		for (ExportFormat exportFormat : values()) {
+			if (exportFormat.name().equalsIgnoreCase(format)) {
+				return exportFormat;
+			}
+		}
+		throw new AccountException(ErrorCode.INVALID_REQUEST);
+	}
+}
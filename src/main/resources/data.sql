@@ -3,4 +3,12 @@ values (1, 'Proro', now(), now());
 insert into account_user(id, name, created_at, updated_at)
 values (2, 'Lupi', now(), now());
 insert into account_user(id, name, created_at, updated_at)
-values (3, 'Eddie', now(), now());
\ No newline at end of file
+values (3, 'Eddie', now(), now());
+
+insert into account_number_sequence(name, next_value)
+values ('ACCOUNT_NUMBER', 1000000000);
+
+insert into aggregation_watermark(name, last_transaction_id)
+values ('DAILY_TRANSACTION_SUMMARY', 0);
+insert into aggregation_watermark(name, last_transaction_id)
+values ('TRANSACTION_ARCHIVE', 0);
\ No newline at end of file
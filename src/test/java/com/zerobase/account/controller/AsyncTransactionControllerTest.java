@@ -0,0 +1,150 @@
+package com.zerobase.account.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.account.config.AsyncWebConfiguration;
+import com.zerobase.account.dto.UseBalance;
+import com.zerobase.account.exception.AccountException;
+import com.zerobase.account.type.ErrorCode;
+import com.zerobase.account.type.TransactionResultType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@WebMvcTest(
+	controllers = AsyncTransactionController.class,
+	properties = {
+		"account.web.async.enabled=true",
+		"account.web.async.timeout=1000"
+	}
+)
+@Import({SimpleMeterRegistry.class, AsyncWebConfiguration.class})
+class AsyncTransactionControllerTest {
+	@MockBean
+	private TransactionController transactionController;
+	
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@Autowired
+	@Qualifier("transactionExecutor")
+	private ExecutorService transactionExecutor;
+
+	@Test
+	void successUseBalance() throws Exception {
+		// given
+		given(transactionController.useBalance(any(), any()))
+			.willReturn(new UseBalance.Response("1000000000",
+					TransactionResultType.S, "transactionId",
+					3000L, LocalDateTime.now()));
+		
+		// when
+		MvcResult result = mockMvc.perform(post("/async/transaction/use")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(
+					new UseBalance.Request(1L, "1000000000", 3000L)
+				)))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		
+		// then
+		mockMvc.perform(asyncDispatch(result))
+			.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.accountNumber").value("1000000000"))
+			.andExpect(jsonPath("$.transactionResult").value("S"))
+			.andExpect(jsonPath("$.transactionId").value("transactionId"));
+	}
+	
+	@Test
+	@DisplayName("작업 스레드에서 발생한 업무 오류도 동기 API 와 같은 응답")
+	void useBalance_accountException() throws Exception {
+		// given
+		given(transactionController.useBalance(any(), any()))
+			.willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+		
+		// when
+		MvcResult result = mockMvc.perform(post("/async/transaction/use")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(
+					new UseBalance.Request(1L, "1000000000", 3000L)
+				)))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		
+		// then
+		mockMvc.perform(asyncDispatch(result))
+			.andDo(print())
+			.andExpect(jsonPath("$.errorCode").value("AMOUNT_EXCEED_BALANCE"));
+	}
+	
+	@Test
+	@DisplayName("응답 시간 한도를 넘기면 결과를 알 수 없다고 응답 (작업은 계속 실행됨)")
+	void useBalance_timeout() throws Exception {
+		// given
+		given(transactionController.useBalance(any(), any()))
+			.willAnswer(invocation -> {
+				Thread.sleep(2000L);
+				return new UseBalance.Response("1000000000",
+						TransactionResultType.S, "transactionId",
+						3000L, LocalDateTime.now());
+			});
+		
+		// when
+		MvcResult result = mockMvc.perform(post("/async/transaction/use")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(
+					new UseBalance.Request(1L, "1000000000", 3000L)
+				)))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		
+		// then
+		mockMvc.perform(asyncDispatch(result))
+			.andDo(print())
+			.andExpect(jsonPath("$.errorCode").value("TRANSACTION_RESULT_UNKNOWN"));
+	}
+	
+	@Test
+	@DirtiesContext
+	@DisplayName("작업 스레드 pool 이 요청을 거절하면 SERVICE_BUSY")
+	void useBalance_rejected() throws Exception {
+		// given
+		transactionExecutor.shutdown();
+		
+		// when
+		// then
+		mockMvc.perform(post("/async/transaction/use")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(
+					new UseBalance.Request(1L, "1000000000", 3000L)
+				)))
+			.andDo(print())
+			.andExpect(jsonPath("$.errorCode").value("SERVICE_BUSY"));
+	}
+}
@@ -4,34 +4,72 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.account.dto.BatchTransaction;
 import com.zerobase.account.dto.CancelBalance;
+import com.zerobase.account.dto.DailySummary;
+import com.zerobase.account.dto.TransactionHistory;
 import com.zerobase.account.dto.TransactionDto;
 import com.zerobase.account.dto.UseBalance;
+import com.zerobase.account.service.BatchTransactionService;
+import com.zerobase.account.service.FailedTransactionJournal;
+import com.zerobase.account.service.TransactionExportService;
 import com.zerobase.account.service.TransactionService;
+import com.zerobase.account.service.TransactionSummaryService;
+import com.zerobase.account.type.ErrorCode;
+import com.zerobase.account.type.ExportFormat;
 import com.zerobase.account.type.TransactionResultType;
 import com.zerobase.account.type.TransactionType;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 
 @WebMvcTest(TransactionController.class)
+@Import(SimpleMeterRegistry.class)
 class TransactionControllerTest {
 	@MockBean
 	private TransactionService transactionService;
 	
+	@MockBean
+	private BatchTransactionService batchTransactionService;
+	
+	@MockBean
+	private FailedTransactionJournal failedTransactionJournal;
+	
+	@MockBean
+	private TransactionExportService transactionExportService;
+	
+	@MockBean
+	private TransactionSummaryService transactionSummaryService;
+	
 	@Autowired
 	private MockMvc mockMvc;
 	
@@ -115,4 +153,129 @@ class TransactionControllerTest {
 			.andExpect(jsonPath("$.transactionId").value("transactionIdForCancel"))
 			.andExpect(jsonPath("$.amount").value(12345L));
 	}
+	
+	@Test
+	void successBatchTransaction() throws Exception {
+		// given
+		given(batchTransactionService.process(any()))
+			.willReturn(new BatchTransaction.Response(Arrays.asList(
+				BatchTransaction.Result.builder()
+					.accountNumber("1000000000")
+					.transactionType(TransactionType.USE)
+					.transactionResult(TransactionResultType.S)
+					.transactionId("transactionId")
+					.amount(3000L)
+					.build(),
+				BatchTransaction.Result.builder()
+					.accountNumber("1000000000")
+					.transactionType(TransactionType.USE)
+					.transactionResult(TransactionResultType.F)
+					.transactionId("failedTransactionId")
+					.amount(3000L)
+					.errorCode(ErrorCode.AMOUNT_EXCEED_BALANCE)
+					.build())));
+		
+		// when
+		// then
+		mockMvc.perform(post("/transaction/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(
+					new BatchTransaction.Request(Arrays.asList(
+						new BatchTransaction.Item(TransactionType.USE, 1L, null, "1000000000", 3000L),
+						new BatchTransaction.Item(TransactionType.USE, 1L, null, "1000000000", 3000L)
+					))
+				)))
+		.andDo(print())
+		.andExpect(status().isOk())
+		.andExpect(jsonPath("$.results[0].transactionResult").value("S"))
+		.andExpect(jsonPath("$.results[1].transactionResult").value("F"))
+		.andExpect(jsonPath("$.results[1].errorCode").value("AMOUNT_EXCEED_BALANCE"));
+	}
+	
+	@Test
+	void successGetTransactionHistory() throws Exception {
+		// given
+		given(transactionService.getTransactionHistory(anyString(), any(), anyInt()))
+			.willReturn(new TransactionHistory.Response("1000000000",
+				Arrays.asList(TransactionHistory.Item.builder()
+					.transactionType(TransactionType.USE)
+					.transactionResult(TransactionResultType.S)
+					.transactionId("transactionId")
+					.amount(3000L)
+					.balanceSnapshot(7000L)
+					.transactedAt(LocalDateTime.now())
+					.build()),
+				"nextCursor"));
+		
+		// when
+		// then
+		mockMvc.perform(get("/account/1000000000/transactions?size=1"))
+			.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.accountNumber").value("1000000000"))
+			.andExpect(jsonPath("$.transactions[0].transactionId").value("transactionId"))
+			.andExpect(jsonPath("$.transactions[0].balanceSnapshot").value(7000L))
+			.andExpect(jsonPath("$.nextCursor").value("nextCursor"));
+	}
+	
+	@Test
+	void successGetDailySummary() throws Exception {
+		// given
+		given(transactionSummaryService.getDailySummary("1000000000",
+				LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+			.willReturn(new DailySummary.Response("1000000000",
+				LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31),
+				Arrays.asList(DailySummary.Item.builder()
+					.date(LocalDate.of(2024, 1, 2))
+					.transactionType(TransactionType.USE)
+					.transactionResult(TransactionResultType.S)
+					.transactionCount(3L)
+					.totalAmount(3000L)
+					.build())));
+		
+		// when
+		// then
+		mockMvc.perform(get("/account/1000000000/summary?from=2024-01-01&to=2024-01-31"))
+			.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.accountNumber").value("1000000000"))
+			.andExpect(jsonPath("$.summaries[0].transactionType").value("USE"))
+			.andExpect(jsonPath("$.summaries[0].transactionCount").value(3L))
+			.andExpect(jsonPath("$.summaries[0].totalAmount").value(3000L));
+	}
+	
+	@Test
+	void successExportTransactions() throws Exception {
+		// given
+		willAnswer(invocation -> {
+			OutputStream outputStream = invocation.getArgument(1);
+			outputStream.write("{\"transactionId\":\"transactionId\"}\n"
+					.getBytes(StandardCharsets.UTF_8));
+			return 1L;
+		}).given(transactionExportService).export(eq(ExportFormat.NDJSON), any());
+		
+		// when
+		MvcResult result = mockMvc.perform(get("/transaction/export?format=ndjson"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		
+		// then
+		mockMvc.perform(asyncDispatch(result))
+			.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(header().string("Content-Type", "application/x-ndjson"))
+			.andExpect(header().string("Content-Disposition",
+					"attachment; filename=\"transactions.ndjson\""))
+			.andExpect(content().string("{\"transactionId\":\"transactionId\"}\n"));
+	}
+	
+	@Test
+	void failExportTransactions_invalidFormat() throws Exception {
+		// given
+		// when
+		// then
+		mockMvc.perform(get("/transaction/export?format=xml"))
+			.andDo(print())
+			.andExpect(jsonPath("$.errorCode").value("INVALID_REQUEST"));
+	}
 }
@@ -0,0 +1,35 @@
+package com.zerobase.account.exception;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.zerobase.account.type.ErrorCode;
+
+class AccountExceptionTest {
+	@Test
+	@DisplayName("업무 오류는 스택 트레이스 없이 생성")
+	void businessErrorIsStackless() {
+		// when
+		AccountException exception =
+				new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+
+		// then
+		assertEquals(0, exception.getStackTrace().length);
+		assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE.getDescription(),
+				exception.getErrorMessage());
+		assertEquals(exception.getErrorMessage(), exception.getMessage());
+	}
+
+	@Test
+	@DisplayName("서버 장애 코드는 스택 트레이스 유지")
+	void faultKeepsStackTrace() {
+		// when
+		AccountException exception =
+				new AccountException(ErrorCode.INVALID_SERVER_ERROR);
+
+		// then
+		assertTrue(exception.getStackTrace().length > 0);
+	}
+}
@@ -0,0 +1,28 @@
+package com.zerobase.account.exception;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ErrorLogLimiterTest {
+	private static final long SECOND = 1_000_000_000L;
+
+	@Test
+	@DisplayName("1초 창 안에서는 최대 건수까지만 허용하고, 다음 창에서 생략 건수 반환")
+	void limitPerWindow() {
+		// given
+		ErrorLogLimiter limiter = new ErrorLogLimiter(2);
+		long now = System.nanoTime();
+
+		// when
+		// then
+		assertEquals(0L, limiter.tryAcquire(now));
+		assertEquals(0L, limiter.tryAcquire(now));
+		assertEquals(ErrorLogLimiter.SUPPRESSED, limiter.tryAcquire(now));
+		assertEquals(ErrorLogLimiter.SUPPRESSED, limiter.tryAcquire(now));
+
+		assertEquals(2L, limiter.tryAcquire(now + SECOND));
+		assertEquals(0L, limiter.tryAcquire(now + SECOND));
+	}
+}
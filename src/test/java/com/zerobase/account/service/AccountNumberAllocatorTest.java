@@ -0,0 +1,101 @@
+package com.zerobase.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.zerobase.account.domain.AccountNumberSequence;
+import com.zerobase.account.exception.AccountException;
+import com.zerobase.account.repository.AccountNumberSequenceRepository;
+import com.zerobase.account.type.ErrorCode;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberAllocatorTest {
+	@Mock
+	private AccountNumberSequenceRepository accountNumberSequenceRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private AccountNumberAllocator accountNumberAllocator;
+
+	@BeforeEach
+	void setUp() {
+		accountNumberAllocator = new AccountNumberAllocator(
+				accountNumberSequenceRepository, transactionManager, 2);
+	}
+
+	@Test
+	@DisplayName("시퀀스가 없으면 1000000000 부터 발급")
+	void allocateFirstAccountNumber() {
+		// given
+		given(accountNumberSequenceRepository.findByName(anyString()))
+			.willReturn(Optional.empty());
+		ArgumentCaptor<AccountNumberSequence> captor =
+				ArgumentCaptor.forClass(AccountNumberSequence.class);
+
+		// when
+		String accountNumber = accountNumberAllocator.nextAccountNumber();
+
+		// then
+		verify(accountNumberSequenceRepository, times(1)).save(captor.capture());
+		assertEquals("1000000000", accountNumber);
+		assertEquals(1000000002L, captor.getValue().getNextValue());
+	}
+
+	@Test
+	@DisplayName("예약한 구간을 다 쓰면 다음 구간을 예약")
+	void reserveNextBlock() {
+		// given
+		AccountNumberSequence sequence = AccountNumberSequence.builder()
+				.name("ACCOUNT_NUMBER")
+				.nextValue(1000000010L)
+				.build();
+		given(accountNumberSequenceRepository.findByName(anyString()))
+			.willReturn(Optional.of(sequence));
+
+		// when
+		String first = accountNumberAllocator.nextAccountNumber();
+		String second = accountNumberAllocator.nextAccountNumber();
+		String third = accountNumberAllocator.nextAccountNumber();
+
+		// then
+		verify(accountNumberSequenceRepository, times(2)).save(any());
+		assertEquals("1000000010", first);
+		assertEquals("1000000011", second);
+		assertEquals("1000000012", third);
+		assertEquals(1000000014L, sequence.getNextValue());
+	}
+
+	@Test
+	@DisplayName("10자리 계좌번호를 모두 쓰면 발급 실패")
+	void accountNumberExhausted() {
+		// given
+		given(accountNumberSequenceRepository.findByName(anyString()))
+			.willReturn(Optional.of(AccountNumberSequence.builder()
+					.name("ACCOUNT_NUMBER")
+					.nextValue(10000000000L)
+					.build()));
+
+		// when
+		AccountException exception = assertThrows(AccountException.class,
+				() -> accountNumberAllocator.nextAccountNumber());
+
+		// then
+		assertEquals(ErrorCode.ACCOUNT_NUMBER_EXHAUSTED, exception.getErrorCode());
+	}
+}
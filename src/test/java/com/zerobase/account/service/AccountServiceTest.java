@@ -9,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -17,7 +18,9 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +33,8 @@ import com.zerobase.account.repository.AccountUserRepository;
 import com.zerobase.account.type.AccountStatus;
 import com.zerobase.account.type.ErrorCode;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +45,13 @@ class AccountServiceTest {
 	@Mock
 	private AccountUserRepository accountUserRepository;
 	
+	@Mock
+	private AccountNumberAllocator accountNumberAllocator;
+	
+	@Spy
+	private AccountListCache accountListCache = new AccountListCache(
+			new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+	
 	@InjectMocks
 	private AccountService accountService;
 	
@@ -53,10 +65,8 @@ class AccountServiceTest {
 		given(accountUserRepository.findById(anyLong()))
 			.willReturn(Optional.of(user));
 		
-		given(accountRepository.findFirstByOrderByIdDesc())
-			.willReturn(Optional.of(Account.builder()
-					.accountNumber("1000000012")
-					.build()));
+		given(accountNumberAllocator.nextAccountNumber())
+			.willReturn("1000000013");
 		
 		given(accountRepository.save(any()))
 			.willReturn(Account.builder()
@@ -86,8 +96,8 @@ class AccountServiceTest {
 		given(accountUserRepository.findById(anyLong()))
 			.willReturn(Optional.of(user));
 		
-		given(accountRepository.findFirstByOrderByIdDesc())
-			.willReturn(Optional.empty());
+		given(accountNumberAllocator.nextAccountNumber())
+			.willReturn("1000000000");
 		
 		given(accountRepository.save(any()))
 			.willReturn(Account.builder()
@@ -131,8 +141,11 @@ class AccountServiceTest {
 		given(accountUserRepository.findById(anyLong()))
 			.willReturn(Optional.of(user));
 		
-		given(accountRepository.countByAccountUser(any()))
-			.willReturn(10);
+		given(accountRepository.findByAccountUser(any()))
+			.willReturn(Collections.nCopies(10, Account.builder()
+					.accountUser(user)
+					.accountNumber("1000000012")
+					.build()));
 
 		// when
 		AccountException exception = assertThrows(AccountException.class,
@@ -173,6 +186,35 @@ class AccountServiceTest {
 	}
 	
 	
+	@Test
+	@DisplayName("사용자 id 가 127 보다 커도 값으로 소유주를 비교")
+	void deleteAccountSuccess_largeUserId() {
+		// given
+		AccountUser user = AccountUser.builder()
+				.name("Pobi").build();
+		user.setId(1000L);
+		
+		AccountUser owner = AccountUser.builder()
+				.name("Pobi").build();
+		owner.setId(Long.valueOf(1000L));
+		
+		given(accountUserRepository.findById(anyLong()))
+			.willReturn(Optional.of(user));
+		
+		given(accountRepository.findByAccountNumber(anyString()))
+			.willReturn(Optional.of(Account.builder()
+					.accountUser(owner)
+					.balance(0L)
+					.accountNumber("1000000012")
+					.build()));
+
+		// when
+		AccountDto accountDto = accountService.deleteAccount(1000L, "1000000012");
+
+		// then
+		assertEquals(1000L, accountDto.getUserId());
+	}
+	
 	@Test
 	@DisplayName("해당 유저 없음 - 계좌 해지 실패")
 	void deleteAccount_userNotFound() {
@@ -351,4 +393,40 @@ class AccountServiceTest {
 		assertEquals(ErrorCode.USER_NOT_FOUND, exception.getErrorCode());
 	}
 	
+	@Test
+	@DisplayName("계좌 목록은 캐시에서 조회하고 개설한 계좌는 목록에 추가")
+	void getAccountsByUserId_cached() {
+		// given
+		AccountUser pobi = AccountUser.builder()
+							.name("Pobi")
+							.build();
+		pobi.setId(12L);
+		
+		given(accountUserRepository.findById(anyLong()))
+			.willReturn(Optional.of(pobi));
+		
+		given(accountRepository.findByAccountUser(any()))
+			.willReturn(Arrays.asList(Account.builder()
+				.accountUser(pobi)
+				.accountNumber("1111111111")
+				.balance(1000L)
+				.build()));
+		
+		given(accountNumberAllocator.nextAccountNumber())
+			.willReturn("2222222222");
+		
+		given(accountRepository.save(any()))
+			.willAnswer(invocation -> invocation.getArgument(0));
+		
+		// when
+		accountService.getAccountsByUserId(12L);
+		accountService.createAccount(12L, 2000L);
+		List<AccountDto> accountDtos = accountService.getAccountsByUserId(12L);
+		
+		// then
+		verify(accountRepository, times(1)).findByAccountUser(any());
+		assertEquals(2, accountDtos.size());
+		assertEquals("2222222222", accountDtos.get(1).getAccountNumber());
+		assertEquals(2000L, accountDtos.get(1).getBalance());
+	}
 }
@@ -0,0 +1,312 @@
+package com.zerobase.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.zerobase.account.domain.Account;
+import com.zerobase.account.domain.AccountUser;
+import com.zerobase.account.domain.Transaction;
+import com.zerobase.account.dto.TransactionDto;
+import com.zerobase.account.exception.AccountException;
+import com.zerobase.account.repository.AccountRepository;
+import com.zerobase.account.repository.AccountUserRepository;
+import com.zerobase.account.repository.TransactionArchiveRepository;
+import com.zerobase.account.repository.TransactionRepository;
+import com.zerobase.account.type.AccountStatus;
+import com.zerobase.account.type.ErrorCode;
+import com.zerobase.account.type.TransactionResultType;
+import com.zerobase.account.type.TransactionType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceLedgerTest {
+	@Mock
+	private TransactionRepository transactionRepository;
+
+	@Mock
+	private AccountUserRepository accountUserRepository;
+
+	@Mock
+	private AccountRepository accountRepository;
+
+	@Mock
+	private TransactionCache transactionCache;
+
+	@Mock
+	private TransactionIdGenerator transactionIdGenerator;
+
+	@Mock
+	private AccountListCache accountListCache;
+
+	@Mock
+	private TransactionArchiveRepository transactionArchiveRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private BalanceLedger balanceLedger;
+
+	@BeforeEach
+	void setUp() {
+		TransactionService transactionService = new TransactionService(
+				transactionRepository, accountUserRepository, accountRepository,
+				transactionCache, transactionIdGenerator, accountListCache,
+				transactionArchiveRepository);
+		balanceLedger = new BalanceLedger(accountRepository, transactionRepository,
+				transactionService, transactionCache, accountListCache, transactionManager,
+				new SimpleMeterRegistry(), 2, 100, 10, Duration.ofMinutes(10),
+				Duration.ofSeconds(1));
+		balanceLedger.start();
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		balanceLedger.shutdown();
+	}
+
+	@Test
+	@DisplayName("잔액은 메모리에서 차감하고 거래 내역만 기록, 종료 시 잔액 반영")
+	void useBalance() throws InterruptedException {
+		// given
+		given(accountRepository.findByAccountNumber(anyString()))
+			.willReturn(Optional.of(account(10000L)));
+		given(transactionRepository.findFirstByAccountAndTransactionResultTypeOrderByIdDesc(
+				any(), eq(TransactionResultType.S)))
+			.willReturn(Optional.empty());
+		given(transactionRepository.saveAll(any()))
+			.willAnswer(invocation -> invocation.getArgument(0));
+
+		// when
+		balanceLedger.use(12L, "1000000012", 1000L);
+		TransactionDto transactionDto = balanceLedger.use(12L, "1000000012", 2000L);
+		balanceLedger.shutdown();
+
+		// then
+		assertEquals(TransactionType.USE, transactionDto.getTransactionType());
+		assertEquals(7000L, transactionDto.getBalanceSnapshot());
+		verify(accountRepository, never()).decreaseBalance(anyString(), any());
+		verify(accountRepository, times(1)).findByAccountNumber("1000000012");
+		verify(accountRepository, times(1)).updateBalance("1000000012", 7000L);
+	}
+
+	@Test
+	@DisplayName("잔액 부족 - 거래 내역 없이 실패")
+	void useBalance_amountExceedBalance() {
+		// given
+		given(accountRepository.findByAccountNumber(anyString()))
+			.willReturn(Optional.of(account(100L)));
+		given(transactionRepository.findFirstByAccountAndTransactionResultTypeOrderByIdDesc(
+				any(), eq(TransactionResultType.S)))
+			.willReturn(Optional.empty());
+
+		// when
+		AccountException exception = assertThrows(AccountException.class,
+				() -> balanceLedger.use(12L, "1000000012", 1000L));
+
+		// then
+		assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+		verify(transactionRepository, never()).saveAll(any());
+	}
+
+	@Test
+	@DisplayName("마지막 성공 거래의 잔액으로 복구")
+	void recoverFromLastTransaction() {
+		// given
+		given(accountRepository.findByAccountNumber(anyString()))
+			.willReturn(Optional.of(account(10000L)));
+		given(transactionRepository.findFirstByAccountAndTransactionResultTypeOrderByIdDesc(
+				any(), eq(TransactionResultType.S)))
+			.willReturn(Optional.of(Transaction.builder()
+					.transactionType(TransactionType.USE)
+					.transactionResultType(TransactionResultType.S)
+					.amount(1000L)
+					.balanceSnapshot(5000L)
+					.transactedAt(LocalDateTime.now())
+					.build()));
+		given(transactionRepository.saveAll(any()))
+			.willAnswer(invocation -> invocation.getArgument(0));
+
+		// when
+		TransactionDto transactionDto = balanceLedger.use(12L, "1000000012", 1000L);
+
+		// then
+		assertEquals(4000L, transactionDto.getBalanceSnapshot());
+	}
+
+	@Test
+	@DisplayName("기록 실패 - 메모리 잔액 되돌림")
+	void revertWhenCommitFailed() {
+		// given
+		given(accountRepository.findByAccountNumber(anyString()))
+			.willReturn(Optional.of(account(10000L)));
+		given(transactionRepository.findFirstByAccountAndTransactionResultTypeOrderByIdDesc(
+				any(), eq(TransactionResultType.S)))
+			.willReturn(Optional.empty());
+		given(transactionRepository.saveAll(any()))
+			.willThrow(new IllegalStateException("db down"))
+			.willAnswer(invocation -> invocation.getArgument(0));
+
+		// when
+		assertThrows(IllegalStateException.class,
+				() -> balanceLedger.use(12L, "1000000012", 1000L));
+		TransactionDto transactionDto = balanceLedger.use(12L, "1000000012", 1000L);
+
+		// then
+		assertEquals(9000L, transactionDto.getBalanceSnapshot());
+	}
+
+	@Test
+	@DisplayName("runExclusive - 잔액 반영 후 계좌를 내려놓고 실행")
+	void runExclusive() {
+		// given
+		given(accountRepository.findByAccountNumber(anyString()))
+			.willReturn(Optional.of(account(10000L)), Optional.of(account(9000L)));
+		given(transactionRepository.findFirstByAccountAndTransactionResultTypeOrderByIdDesc(
+				any(), eq(TransactionResultType.S)))
+			.willReturn(Optional.empty());
+		given(transactionRepository.saveAll(any()))
+			.willAnswer(invocation -> invocation.getArgument(0));
+		balanceLedger.use(12L, "1000000012", 1000L);
+
+		// when
+		String result = balanceLedger.runExclusive("1000000012", () -> "done");
+		balanceLedger.use(12L, "1000000012", 1000L);
+
+		// then
+		assertEquals("done", result);
+		verify(accountRepository, times(1)).updateBalance("1000000012", 9000L);
+		verify(accountRepository, times(2)).findByAccountNumber("1000000012");
+		ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+		verify(transactionRepository, times(2)).saveAll(captor.capture());
+		assertEquals(8000L, captor.getValue().get(0).getBalanceSnapshot());
+	}
+
+	@Test
+	@DisplayName("wait-time 이 지나도 이미 시작한 작업은 실제 결과로 응답")
+	void lateResultIsNotFailure() {
+		// when
+		String result = balanceLedger.runExclusive("1000000012", () -> {
+			sleep(1500L);
+			return "late";
+		});
+
+		// then
+		assertEquals("late", result);
+	}
+
+	@Test
+	@DisplayName("wait-time 안에 시작하지 못한 요청은 취소되고 실행되지 않는다.")
+	void queuedRequestCancelledAfterWaitTime() throws Exception {
+		// given
+		CountDownLatch started = new CountDownLatch(1);
+		CompletableFuture<String> blocking = CompletableFuture.supplyAsync(() ->
+				balanceLedger.runExclusive("1000000012", () -> {
+					started.countDown();
+					sleep(1500L);
+					return "done";
+				}));
+		started.await();
+
+		// when
+		AccountException exception = assertThrows(AccountException.class,
+				() -> balanceLedger.use(12L, "1000000012", 1000L));
+		blocking.join();
+		balanceLedger.shutdown();
+
+		// then
+		assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+		verify(accountRepository, never()).findByAccountNumber(anyString());
+		verify(transactionRepository, never()).saveAll(any());
+	}
+
+	@Test
+	@DisplayName("다른 경로에서 먼저 취소된 원 거래 - 누적 취소 금액을 덮어쓰지 않고 되돌림")
+	void cancelWithStaleOriginal() {
+		// given
+		given(accountRepository.findByAccountNumber(anyString()))
+			.willReturn(Optional.of(account(10000L)));
+		given(transactionRepository.findFirstByAccountAndTransactionResultTypeOrderByIdDesc(
+				any(), eq(TransactionResultType.S)))
+			.willReturn(Optional.empty());
+		// 일괄 취소가 30 을 먼저 커밋하기 전에 읽은 원 거래와, 다시 읽은 원 거래
+		given(transactionRepository.findByTransactionId("originalTransactionId"))
+			.willReturn(Optional.of(original(0L)), Optional.of(original(30L)));
+		given(transactionRepository.saveAll(any()))
+			.willAnswer(invocation -> invocation.getArgument(0));
+		given(transactionRepository.updateCancelledAmount("originalTransactionId", 0L, 40L))
+			.willReturn(0);
+		given(transactionRepository.updateCancelledAmount("originalTransactionId", 30L, 50L))
+			.willReturn(1);
+
+		// when
+		assertThrows(OptimisticLockingFailureException.class,
+				() -> balanceLedger.cancel("originalTransactionId", "1000000012", 40L));
+		TransactionDto transactionDto =
+				balanceLedger.cancel("originalTransactionId", "1000000012", 20L);
+
+		// then
+		assertEquals(10020L, transactionDto.getBalanceSnapshot());
+		verify(transactionRepository, times(1))
+			.updateCancelledAmount("originalTransactionId", 30L, 50L);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private Transaction original(Long cancelledAmount) {
+		return Transaction.builder()
+				.account(account(10000L))
+				.transactionType(TransactionType.USE)
+				.transactionResultType(TransactionResultType.S)
+				.amount(50L)
+				.cancelledAmount(cancelledAmount)
+				.transactionId("originalTransactionId")
+				.transactedAt(LocalDateTime.now())
+				.build();
+	}
+
+	private Account account(Long balance) {
+		AccountUser user = AccountUser.builder()
+				.name("Pobi").build();
+		user.setId(12L);
+
+		Account account = Account.builder()
+				.accountUser(user)
+				.accountStatus(AccountStatus.IN_USE)
+				.balance(balance)
+				.accountNumber("1000000012")
+				.build();
+		account.setId(1L);
+		return account;
+	}
+}
@@ -0,0 +1,148 @@
+package com.zerobase.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.zerobase.account.dto.BatchTransaction;
+import com.zerobase.account.exception.AccountException;
+import com.zerobase.account.type.ErrorCode;
+import com.zerobase.account.type.TransactionResultType;
+import com.zerobase.account.type.TransactionType;
+
+@ExtendWith(MockitoExtension.class)
+class BatchTransactionServiceTest {
+	@Mock
+	private LockService lockService;
+
+	@Mock
+	private TransactionService transactionService;
+
+	@Mock
+	private ObjectProvider<BalanceLedger> balanceLedger;
+
+	@InjectMocks
+	private BatchTransactionService batchTransactionService;
+
+	@Test
+	@DisplayName("계좌별로 한 번씩 lock 을 잡고 요청 순서대로 결과 반환")
+	void processGroupedByAccount() {
+		// given
+		BatchTransaction.Item first = useItem("1000000001");
+		BatchTransaction.Item second = useItem("1000000002");
+		BatchTransaction.Item third = useItem("1000000001");
+
+		given(transactionService.applyBatch(eq("1000000001"), eq(Arrays.asList(first, third))))
+			.willReturn(Arrays.asList(result("first"), result("third")));
+		given(transactionService.applyBatch(eq("1000000002"), eq(Collections.singletonList(second))))
+			.willReturn(Collections.singletonList(result("second")));
+
+		// when
+		BatchTransaction.Response response =
+				batchTransactionService.process(Arrays.asList(first, second, third));
+
+		// then
+		verify(lockService, times(1)).lock(eq("1000000001"), anyLong(), anyLong());
+		verify(lockService, times(1)).lock(eq("1000000002"), anyLong(), anyLong());
+		verify(lockService, times(1)).unlock("1000000001");
+		verify(lockService, times(1)).unlock("1000000002");
+		assertEquals("first", response.getResults().get(0).getTransactionId());
+		assertEquals("second", response.getResults().get(1).getTransactionId());
+		assertEquals("third", response.getResults().get(2).getTransactionId());
+	}
+
+	@Test
+	@DisplayName("lock 획득 실패 - 해당 계좌 항목만 실패")
+	void processLockFailed() {
+		// given
+		BatchTransaction.Item first = useItem("1000000001");
+		BatchTransaction.Item second = useItem("1000000002");
+
+		willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+			.given(lockService).lock(eq("1000000001"), anyLong(), anyLong());
+		given(transactionService.applyBatch(eq("1000000002"), eq(Collections.singletonList(second))))
+			.willReturn(Collections.singletonList(result("second")));
+
+		// when
+		List<BatchTransaction.Result> results =
+				batchTransactionService.process(Arrays.asList(first, second)).getResults();
+
+		// then
+		assertEquals(TransactionResultType.F, results.get(0).getTransactionResult());
+		assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, results.get(0).getErrorCode());
+		assertEquals("second", results.get(1).getTransactionId());
+		verify(lockService, never()).unlock("1000000001");
+	}
+
+	@Test
+	@DisplayName("계좌 없음 - 묶음 전체 실패 후 lock 해제")
+	void processAccountNotFound() {
+		// given
+		given(transactionService.applyBatch(anyString(), any()))
+			.willThrow(new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+		// when
+		List<BatchTransaction.Result> results = batchTransactionService.process(
+				Arrays.asList(useItem("1000000001"), useItem("1000000001"))).getResults();
+
+		// then
+		assertEquals(2, results.size());
+		assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, results.get(0).getErrorCode());
+		assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, results.get(1).getErrorCode());
+		verify(lockService, times(1)).unlock("1000000001");
+	}
+
+	@Test
+	@DisplayName("예상하지 못한 오류 - 해당 계좌 항목만 실패, 나머지 계좌는 결과 반환")
+	void processUnexpectedFailure() {
+		// given
+		BatchTransaction.Item first = useItem("1000000001");
+		BatchTransaction.Item second = useItem("1000000002");
+
+		given(transactionService.applyBatch(eq("1000000001"), eq(Collections.singletonList(first))))
+			.willReturn(Collections.singletonList(result("first")));
+		given(transactionService.applyBatch(eq("1000000002"), eq(Collections.singletonList(second))))
+			.willThrow(new DataIntegrityViolationException("duplicate"));
+
+		// when
+		List<BatchTransaction.Result> results =
+				batchTransactionService.process(Arrays.asList(first, second)).getResults();
+
+		// then
+		assertEquals("first", results.get(0).getTransactionId());
+		assertEquals(TransactionResultType.F, results.get(1).getTransactionResult());
+		assertEquals(ErrorCode.INVALID_SERVER_ERROR, results.get(1).getErrorCode());
+		verify(lockService, times(1)).unlock("1000000002");
+	}
+
+	private BatchTransaction.Item useItem(String accountNumber) {
+		return new BatchTransaction.Item(TransactionType.USE, 1L, null, accountNumber, 100L);
+	}
+
+	private BatchTransaction.Result result(String transactionId) {
+		return BatchTransaction.Result.builder()
+				.transactionResult(TransactionResultType.S)
+				.transactionId(transactionId)
+				.build();
+	}
+}
@@ -0,0 +1,123 @@
+package com.zerobase.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.zerobase.account.dto.FailedTransaction;
+import com.zerobase.account.type.TransactionType;
+
+@ExtendWith(MockitoExtension.class)
+class FailedTransactionJournalTest {
+	@Mock
+	private TransactionService transactionService;
+
+	@Test
+	@DisplayName("writer 스레드에서 실패 거래 기록")
+	void recordWrittenByWriter() throws InterruptedException {
+		// given
+		FailedTransactionJournal journal = new FailedTransactionJournal(
+				transactionService, 100, 10, Duration.ofSeconds(1), 3, Duration.ofMillis(10));
+		journal.start();
+
+		ArgumentCaptor<List<FailedTransaction>> captor = ArgumentCaptor.forClass(List.class);
+		List<FailedTransaction> written = new ArrayList<>();
+		willAnswer(invocation -> written.addAll(invocation.getArgument(0)))
+			.given(transactionService).saveFailedTransactions(any());
+
+		// when
+		journal.record(TransactionType.USE, "1000000012", 1000L);
+		journal.record(TransactionType.CANCEL, "1000000012", 2000L);
+
+		// then
+		verify(transactionService, timeout(1000).atLeastOnce())
+			.saveFailedTransactions(captor.capture());
+		journal.shutdown();
+		assertEquals(2, written.size());
+		assertEquals(TransactionType.USE, written.get(0).getTransactionType());
+		assertEquals(2000L, written.get(1).getAmount());
+		assertNotNull(written.get(0).getTransactedAt());
+	}
+
+	@Test
+	@DisplayName("큐가 가득 차면 요청 스레드에서 직접 기록")
+	void recordOnCallerWhenQueueFull() throws InterruptedException {
+		// given
+		FailedTransactionJournal journal = new FailedTransactionJournal(
+				transactionService, 1, 10, Duration.ofSeconds(1), 3, Duration.ofMillis(10));
+		List<String> writerThreads = new ArrayList<>();
+		willAnswer(invocation -> writerThreads.add(Thread.currentThread().getName()))
+			.given(transactionService).saveFailedTransactions(any());
+
+		// when
+		journal.record(TransactionType.USE, "1000000012", 1000L);
+		journal.record(TransactionType.USE, "1000000012", 2000L);
+
+		// then
+		verify(transactionService, times(1)).saveFailedTransactions(any());
+		assertEquals(Thread.currentThread().getName(), writerThreads.get(0));
+	}
+
+	@Test
+	@DisplayName("종료 시 큐에 남은 실패 거래 저장")
+	void flushOnShutdown() throws InterruptedException {
+		// given
+		FailedTransactionJournal journal = new FailedTransactionJournal(
+				transactionService, 100, 10, Duration.ofSeconds(1), 3, Duration.ofMillis(10));
+		CountDownLatch written = new CountDownLatch(3);
+		willAnswer(invocation -> {
+			List<FailedTransaction> failedTransactions = invocation.getArgument(0);
+			failedTransactions.forEach(failedTransaction -> written.countDown());
+			return null;
+		}).given(transactionService).saveFailedTransactions(any());
+
+		journal.record(TransactionType.USE, "1000000012", 1000L);
+		journal.record(TransactionType.USE, "1000000012", 2000L);
+		journal.record(TransactionType.CANCEL, "1000000012", 3000L);
+
+		// when
+		journal.shutdown();
+
+		// then
+		assertEquals(0, written.getCount());
+	}
+
+	@Test
+	@DisplayName("저장 실패 시 다시 시도")
+	void retryOnWriteFailure() throws InterruptedException {
+		// given
+		FailedTransactionJournal journal = new FailedTransactionJournal(
+				transactionService, 100, 10, Duration.ofSeconds(1), 3, Duration.ofMillis(10));
+		List<FailedTransaction> written = new ArrayList<>();
+		willThrow(new DataAccessResourceFailureException("db down"))
+			.willAnswer(invocation -> written.addAll(invocation.getArgument(0)))
+			.given(transactionService).saveFailedTransactions(any());
+		journal.start();
+
+		// when
+		journal.record(TransactionType.USE, "1000000012", 1000L);
+
+		// then
+		verify(transactionService, timeout(1000).times(2)).saveFailedTransactions(any());
+		journal.shutdown();
+		assertEquals(1, written.size());
+		assertEquals(1000L, written.get(0).getAmount());
+	}
+}
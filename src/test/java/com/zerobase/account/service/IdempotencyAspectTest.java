@@ -0,0 +1,166 @@
+package com.zerobase.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.account.dto.UseBalance;
+import com.zerobase.account.exception.AccountException;
+import com.zerobase.account.type.ErrorCode;
+import com.zerobase.account.type.TransactionResultType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyAspectTest {
+	@Mock
+	private RedissonClient redissonClient;
+
+	@Mock
+	private RBucket<Object> bucket;
+
+	@Mock
+	private ProceedingJoinPoint proceedingJoinPoint;
+
+	@Mock
+	private MethodSignature signature;
+
+	private IdempotencyStore idempotencyStore;
+
+	private IdempotencyAspect idempotencyAspect;
+
+	private final UseBalance.Request request =
+			new UseBalance.Request(1L, "1000000012", 1000L);
+
+	@BeforeEach
+	void setUp() {
+		idempotencyStore = new IdempotencyStore(redissonClient, new ObjectMapper(),
+				new SimpleMeterRegistry(), 100, Duration.ofHours(24),
+				30000L, Duration.ofSeconds(30), false);
+		idempotencyAspect = new IdempotencyAspect(idempotencyStore);
+	}
+
+	@Test
+	@DisplayName("같은 키로 재시도하면 처리하지 않고 처음 응답을 돌려준다.")
+	void replayStoredResponse() throws Throwable {
+		// given
+		givenUseBalanceSignature();
+		UseBalance.Response response = useResponse();
+		given(proceedingJoinPoint.proceed()).willReturn(response);
+
+		// when
+		Object first = idempotencyAspect.aroundMethod(
+				proceedingJoinPoint, null, request, "key-1");
+		Object second = idempotencyAspect.aroundMethod(
+				proceedingJoinPoint, null, request, "key-1");
+
+		// then
+		verify(proceedingJoinPoint, times(1)).proceed();
+		assertSame(response, first);
+		assertSame(response, second);
+	}
+
+	@Test
+	@DisplayName("처리 중인 키로 들어온 요청은 IDEMPOTENCY_KEY_IN_USE")
+	void keyInUse() throws Throwable {
+		// given
+		givenUseBalanceSignature();
+		idempotencyStore.claim("useBalance:1000000012:key-1", UseBalance.Response.class);
+
+		// when
+		AccountException exception = assertThrows(AccountException.class,
+				() -> idempotencyAspect.aroundMethod(
+						proceedingJoinPoint, null, request, "key-1"));
+
+		// then
+		verify(proceedingJoinPoint, times(0)).proceed();
+		assertEquals(ErrorCode.IDEMPOTENCY_KEY_IN_USE, exception.getErrorCode());
+	}
+
+	@Test
+	@DisplayName("실패한 요청의 키는 다시 사용할 수 있다.")
+	void releaseOnFailure() throws Throwable {
+		// given
+		givenUseBalanceSignature();
+		given(proceedingJoinPoint.proceed())
+			.willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE))
+			.willReturn(useResponse());
+
+		// when
+		assertThrows(AccountException.class,
+				() -> idempotencyAspect.aroundMethod(
+						proceedingJoinPoint, null, request, "key-1"));
+		Object retried = idempotencyAspect.aroundMethod(
+				proceedingJoinPoint, null, request, "key-1");
+
+		// then
+		verify(proceedingJoinPoint, times(2)).proceed();
+		assertEquals("transactionId",
+				((UseBalance.Response) retried).getTransactionId());
+	}
+
+	@Test
+	@DisplayName("키가 없으면 그대로 처리한다.")
+	void proceedWithoutKey() throws Throwable {
+		// given
+		given(proceedingJoinPoint.proceed()).willReturn(useResponse());
+
+		// when
+		idempotencyAspect.aroundMethod(proceedingJoinPoint, null, request, null);
+		idempotencyAspect.aroundMethod(proceedingJoinPoint, null, request, null);
+
+		// then
+		verify(proceedingJoinPoint, times(2)).proceed();
+	}
+
+	@Test
+	@DisplayName("Redis 처리 중 표시는 lock 대기 + lease + async timeout + margin 동안 유지한다.")
+	void pendingTtlCoversRequestTime() {
+		// given
+		IdempotencyStore redisStore = new IdempotencyStore(redissonClient, new ObjectMapper(),
+				new SimpleMeterRegistry(), 100, Duration.ofHours(24),
+				30000L, Duration.ofSeconds(30), true);
+		given(redissonClient.getBucket(anyString(), any(Codec.class)))
+			.willReturn(bucket);
+		given(bucket.trySet("", 80000L, TimeUnit.MILLISECONDS))
+			.willReturn(true);
+
+		// when
+		UseBalance.Response response = redisStore.claim("key-1", UseBalance.Response.class);
+
+		// then
+		assertNull(response);
+		verify(bucket, times(1)).trySet("", 80000L, TimeUnit.MILLISECONDS);
+	}
+
+	private void givenUseBalanceSignature() {
+		given(proceedingJoinPoint.getSignature()).willReturn(signature);
+		given(signature.getName()).willReturn("useBalance");
+		given(signature.getReturnType()).willReturn(UseBalance.Response.class);
+	}
+
+	private static UseBalance.Response useResponse() {
+		return new UseBalance.Response("1000000012", TransactionResultType.S,
+				"transactionId", 1000L, LocalDateTime.now());
+	}
+}
@@ -0,0 +1,57 @@
+package com.zerobase.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LocalLockProviderTest {
+	private final LocalLockProvider localLockProvider = new LocalLockProvider(16);
+
+	@Test
+	@DisplayName("다른 스레드가 잡은 계좌는 lock 을 얻지 못한다.")
+	void failLockHeldByOtherThread() throws Exception {
+		// given
+		assertTrue(localLockProvider.tryLock("ACLK:123", 0, 15, TimeUnit.SECONDS));
+
+		// when
+		Boolean isLock = CompletableFuture.supplyAsync(() -> tryLockQuietly("ACLK:123"))
+				.get(5, TimeUnit.SECONDS);
+
+		// then
+		assertFalse(isLock);
+		localLockProvider.unlock("ACLK:123");
+	}
+
+	@Test
+	@DisplayName("lock 해제 후에는 다른 스레드가 lock 을 얻는다.")
+	void successLockAfterUnlock() throws Exception {
+		// given
+		assertTrue(localLockProvider.tryLock("ACLK:123", 0, 15, TimeUnit.SECONDS));
+		localLockProvider.unlock("ACLK:123");
+
+		// when
+		Boolean isLock = CompletableFuture.supplyAsync(() -> {
+			boolean result = tryLockQuietly("ACLK:123");
+			if (result) {
+				localLockProvider.unlock("ACLK:123");
+			}
+			return result;
+		}).get(5, TimeUnit.SECONDS);
+
+		// then
+		assertTrue(isLock);
+	}
+
+	private boolean tryLockQuietly(String key) {
+		try {
+			return localLockProvider.tryLock(key, 0, 15, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
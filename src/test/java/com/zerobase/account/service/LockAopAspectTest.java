@@ -1,23 +1,32 @@
 package com.zerobase.account.service;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.zerobase.account.aop.AccountLock;
 import com.zerobase.account.dto.UseBalance;
 import com.zerobase.account.exception.AccountException;
 import com.zerobase.account.type.ErrorCode;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class LockAopAspectTest {
 	@Mock
@@ -25,14 +34,27 @@ class LockAopAspectTest {
 
 	@Mock
 	private ProceedingJoinPoint proceedingJoinPoint;
-	
-	@InjectMocks
+
+	@Mock
+	private Signature signature;
+
+	private MeterRegistry meterRegistry;
+
 	private LockAopAspect lockAopAspect;
-	
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		lockAopAspect = new LockAopAspect(lockService, meterRegistry);
+
+		given(proceedingJoinPoint.getSignature()).willReturn(signature);
+		given(signature.getName()).willReturn("useBalance");
+	}
+
 	@Test
 	void lockAndUnLock() throws Throwable {
 		// given
-		ArgumentCaptor<String> lockArgumentCaptor = 
+		ArgumentCaptor<String> lockArgumentCaptor =
 				ArgumentCaptor.forClass(String.class);
 		ArgumentCaptor<String> unLockArgumentCaptor =
 				ArgumentCaptor.forClass(String.class);
@@ -40,36 +62,110 @@ class LockAopAspectTest {
 				new UseBalance.Request(123L, "1234", 10000L);
 
 		// when
-		lockAopAspect.aroundMethod(proceedingJoinPoint, request);
+		lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request);
 
 		// then
-		verify(lockService, times(1)).lock(lockArgumentCaptor.capture());
+		verify(lockService, times(1)).lock(lockArgumentCaptor.capture(), anyLong(), anyLong());
 		verify(lockService, times(1)).unlock(unLockArgumentCaptor.capture());
 		assertEquals("1234", lockArgumentCaptor.getValue());
 		assertEquals("1234", unLockArgumentCaptor.getValue());
 	}
-	
+
 	@Test
 	void lockAndUnLock_evenIfThrow() throws Throwable {
 		// given
-		ArgumentCaptor<String> lockArgumentCaptor = 
+		ArgumentCaptor<String> lockArgumentCaptor =
 				ArgumentCaptor.forClass(String.class);
 		ArgumentCaptor<String> unLockArgumentCaptor =
 				ArgumentCaptor.forClass(String.class);
 		UseBalance.Request request =
 				new UseBalance.Request(123L, "54321", 1000L);
-		
+
         given(proceedingJoinPoint.proceed())
                 .willThrow(new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
 		// when
         assertThrows(AccountException.class, () ->
-                lockAopAspect.aroundMethod(proceedingJoinPoint, request));
+                lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request));
 
 		// then
-		verify(lockService, times(1)).lock(lockArgumentCaptor.capture());
+		verify(lockService, times(1)).lock(lockArgumentCaptor.capture(), anyLong(), anyLong());
 		verify(lockService, times(1)).unlock(unLockArgumentCaptor.capture());
 		assertEquals("54321", lockArgumentCaptor.getValue());
 		assertEquals("54321", unLockArgumentCaptor.getValue());
 	}
+
+	@Test
+	void lockWithAnnotationTime() throws Throwable {
+		// given
+		UseBalance.Request request =
+				new UseBalance.Request(123L, "1234", 10000L);
+
+		// when
+		lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request);
+
+		// then
+		verify(lockService, times(1)).lock("1234", 3000L, 10000L);
+		assertEquals(1, meterRegistry.get("account.lock.wait")
+				.tag("endpoint", "useBalance")
+				.tag("result", "success")
+				.timer().count());
+		assertEquals(1, meterRegistry.get("account.lock.hold")
+				.tag("endpoint", "useBalance")
+				.timer().count());
+	}
+
+	@Test
+	void failGetLock_notProceed() throws Throwable {
+		// given
+		UseBalance.Request request =
+				new UseBalance.Request(123L, "1234", 10000L);
+
+		willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+				.given(lockService).lock(anyString(), anyLong(), anyLong());
+
+		// when
+		AccountException exception = assertThrows(AccountException.class, () ->
+				lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request));
+
+		// then
+		assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+		verify(proceedingJoinPoint, never()).proceed();
+		verify(lockService, never()).unlock(anyString());
+		assertEquals(1, meterRegistry.get("account.lock.wait")
+				.tag("endpoint", "useBalance")
+				.tag("result", "fail")
+				.timer().count());
+	}
+
+	@Test
+	void lockError_notProceed() throws Throwable {
+		// given
+		UseBalance.Request request =
+				new UseBalance.Request(123L, "1234", 10000L);
+
+		willThrow(new IllegalStateException("redis down"))
+				.given(lockService).lock(anyString(), anyLong(), anyLong());
+
+		// when
+		assertThrows(IllegalStateException.class, () ->
+				lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request));
+
+		// then
+		verify(proceedingJoinPoint, never()).proceed();
+		verify(lockService, never()).unlock(anyString());
+		assertEquals(1, meterRegistry.get("account.lock.wait")
+				.tag("endpoint", "useBalance")
+				.tag("result", "error")
+				.timer().count());
+	}
+
+	@AccountLock(tryLockTime = 3000L, leaseTime = 10000L)
+	private void lockedMethod() {
+	}
+
+	private AccountLock accountLock() throws NoSuchMethodException {
+		return LockAopAspectTest.class.getDeclaredMethod("lockedMethod")
+				.getAnnotation(AccountLock.class);
+	}
 }
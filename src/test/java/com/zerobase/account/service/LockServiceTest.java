@@ -2,13 +2,12 @@ package com.zerobase.account.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 
 import com.zerobase.account.exception.AccountException;
 import com.zerobase.account.type.ErrorCode;
@@ -21,10 +20,7 @@ import static org.mockito.BDDMockito.given;
 @ExtendWith(MockitoExtension.class)
 class LockServiceTest {
 	@Mock
-	private RedissonClient redissonClient;
-	
-	@Mock
-	private RLock rLock;
+	private LockProvider lockProvider;
 	
 	@InjectMocks
 	private LockService lockService;
@@ -32,31 +28,40 @@ class LockServiceTest {
 	@Test
 	void successGetLock() throws InterruptedException {
 		// given
-		given(redissonClient.getLock(anyString()))
-			.willReturn(rLock);
-		
-		given(rLock.tryLock(anyLong(), anyLong(), any()))
+		given(lockProvider.tryLock(anyString(), anyLong(), anyLong(), any()))
 			.willReturn(true);
 		
 		// when
-		assertDoesNotThrow(() -> lockService.lock("123"));
+		assertDoesNotThrow(() -> lockService.lock("123", 1000L, 15000L));
 	}
 	
 	@Test
 	void failGetLock() throws InterruptedException {
 		// given
-		given(redissonClient.getLock(anyString()))
-			.willReturn(rLock);
-		
-		given(rLock.tryLock(anyLong(), anyLong(), any()))
+		given(lockProvider.tryLock(anyString(), anyLong(), anyLong(), any()))
 			.willReturn(false);
 		
 		// when
 		AccountException exception =  assertThrows(AccountException.class,
-										() -> lockService.lock("123"));
+										() -> lockService.lock("123", 1000L, 15000L));
 		
 		// then
 		assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
 	}
+	
+	@Test
+	@DisplayName("lock 저장소 오류 - lock 없이 진행하지 않도록 예외를 그대로 던진다.")
+	void failGetLock_providerError() throws InterruptedException {
+		// given
+		given(lockProvider.tryLock(anyString(), anyLong(), anyLong(), any()))
+			.willThrow(new IllegalStateException("redis down"));
+		
+		// when
+		IllegalStateException exception = assertThrows(IllegalStateException.class,
+										() -> lockService.lock("123", 1000L, 15000L));
+		
+		// then
+		assertEquals("redis down", exception.getMessage());
+	}
 
 }
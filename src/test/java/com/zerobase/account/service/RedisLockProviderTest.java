@@ -0,0 +1,60 @@
+package com.zerobase.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+
+@ExtendWith(MockitoExtension.class)
+class RedisLockProviderTest {
+	@Mock
+	private RedissonClient redissonClient;
+
+	@Mock
+	private RLock rLock;
+
+	@InjectMocks
+	private RedisLockProvider redisLockProvider;
+
+	@Test
+	void tryLock() throws InterruptedException {
+		// given
+		given(redissonClient.getLock("ACLK:123"))
+			.willReturn(rLock);
+
+		given(rLock.tryLock(anyLong(), anyLong(), any()))
+			.willReturn(true);
+
+		// when
+		boolean isLock = redisLockProvider.tryLock("ACLK:123", 1, 15, TimeUnit.SECONDS);
+
+		// then
+		assertTrue(isLock);
+		verify(rLock, times(1)).tryLock(1, 15, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void unlock() {
+		// given
+		given(redissonClient.getLock("ACLK:123"))
+			.willReturn(rLock);
+
+		// when
+		redisLockProvider.unlock("ACLK:123");
+
+		// then
+		verify(rLock, times(1)).unlock();
+	}
+}
@@ -0,0 +1,58 @@
+package com.zerobase.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedTransactionIdGeneratorTest {
+	private final TimeOrderedTransactionIdGenerator generator =
+			new TimeOrderedTransactionIdGenerator(0x1234);
+
+	@Test
+	@DisplayName("32자리 소문자 hex, 노드 id 포함")
+	void nextIdFormat() {
+		// when
+		String id = generator.nextId();
+
+		// then
+		assertEquals(32, id.length());
+		assertTrue(id.matches("[0-9a-f]{32}"));
+		assertEquals("1234", id.substring(12, 16));
+	}
+
+	@Test
+	@DisplayName("시각 부분은 생성 순서대로 증가하고 중복 없음")
+	void nextIdOrderedAndUnique() {
+		// given
+		Set<String> ids = new HashSet<>();
+		String previous = generator.nextId();
+		ids.add(previous);
+
+		// when
+		// then
+		for (int i = 0; i < 100_000; i++) {
+			String id = generator.nextId();
+			assertTrue(ids.add(id));
+			assertTrue(id.substring(0, 12).compareTo(previous.substring(0, 12)) >= 0);
+			previous = id;
+		}
+	}
+
+	@Test
+	@DisplayName("노드 id 는 16bit 로 자른다")
+	void nodeIdMasked() {
+		// given
+		TimeOrderedTransactionIdGenerator masked =
+				new TimeOrderedTransactionIdGenerator(0x1ffff);
+
+		// when
+		String id = masked.nextId();
+
+		// then
+		assertEquals("ffff", id.substring(12, 16));
+	}
+}
@@ -0,0 +1,126 @@
+package com.zerobase.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.zerobase.account.domain.Account;
+import com.zerobase.account.domain.AggregationWatermark;
+import com.zerobase.account.domain.Transaction;
+import com.zerobase.account.domain.TransactionArchive;
+import com.zerobase.account.repository.AggregationWatermarkRepository;
+import com.zerobase.account.repository.TransactionRepository;
+import com.zerobase.account.type.TransactionResultType;
+import com.zerobase.account.type.TransactionType;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionArchiveServiceTest {
+	@Mock
+	private TransactionRepository transactionRepository;
+
+	@Mock
+	private AggregationWatermarkRepository aggregationWatermarkRepository;
+
+	@Mock
+	private EntityManager entityManager;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	@DisplayName("기간이 지나고 집계된 거래까지만 archive 로 옮기고 watermark 를 옮긴다.")
+	void archive() {
+		// given
+		TransactionArchiveService archiveService = archiveService(true);
+		AggregationWatermark watermark = new AggregationWatermark(
+				TransactionArchiveService.WATERMARK_NAME, 0L);
+		given(aggregationWatermarkRepository.findByName(TransactionArchiveService.WATERMARK_NAME))
+			.willReturn(Optional.of(watermark));
+		LocalDateTime transactedAt = LocalDateTime.now().minusYears(2);
+		given(transactionRepository.findArchiveCandidates(0L, PageRequest.of(0, 10)))
+			.willReturn(Arrays.asList(
+				transaction(1L, transactedAt, true),
+				transaction(2L, transactedAt, true),
+				transaction(3L, transactedAt, false)));
+		ArgumentCaptor<TransactionArchive> captor =
+				ArgumentCaptor.forClass(TransactionArchive.class);
+
+		// when
+		archiveService.archive();
+
+		// then
+		verify(entityManager, times(2)).persist(captor.capture());
+		List<TransactionArchive> archives = captor.getAllValues();
+		assertEquals(1L, archives.get(0).getId());
+		assertEquals("transactionId1", archives.get(0).getTransactionId());
+		assertEquals(transactedAt, archives.get(0).getTransactedAt());
+		assertNotNull(archives.get(0).getArchivedAt());
+		verify(transactionRepository).deleteAllByIdInBatch(Arrays.asList(1L, 2L));
+		assertEquals(2L, watermark.getLastTransactionId());
+		verify(aggregationWatermarkRepository).save(watermark);
+	}
+
+	@Test
+	@DisplayName("취소 가능 기간이 남은 거래는 옮기지 않는다.")
+	void archive_notExpired() {
+		// given
+		TransactionArchiveService archiveService = archiveService(false);
+		given(aggregationWatermarkRepository.findByName(TransactionArchiveService.WATERMARK_NAME))
+			.willReturn(Optional.of(new AggregationWatermark(
+					TransactionArchiveService.WATERMARK_NAME, 0L)));
+		given(transactionRepository.findArchiveCandidates(0L, PageRequest.of(0, 10)))
+			.willReturn(Collections.singletonList(
+				transaction(1L, LocalDateTime.now().minusMonths(11), true)));
+
+		// when
+		archiveService.archive();
+
+		// then
+		verify(entityManager, never()).persist(any());
+		verify(transactionRepository, never()).deleteAllByIdInBatch(any());
+		verify(aggregationWatermarkRepository, never()).save(any());
+	}
+
+	private TransactionArchiveService archiveService(boolean summaryEnabled) {
+		return new TransactionArchiveService(transactionRepository,
+				aggregationWatermarkRepository, entityManager, transactionManager,
+				true, summaryEnabled, 10, Duration.ofDays(1));
+	}
+
+	private static Transaction transaction(Long id, LocalDateTime transactedAt,
+			boolean aggregated) {
+		Transaction transaction = Transaction.builder()
+				.account(Account.builder().accountNumber("1000000012").build())
+				.transactionType(TransactionType.USE)
+				.transactionResultType(TransactionResultType.S)
+				.amount(1000L)
+				.balanceSnapshot(9000L)
+				.transactionId("transactionId" + id)
+				.transactedAt(transactedAt)
+				.aggregated(aggregated)
+				.build();
+		transaction.setId(id);
+		return transaction;
+	}
+}
@@ -0,0 +1,108 @@
+package com.zerobase.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RedissonClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.account.dto.TransactionDto;
+import com.zerobase.account.type.TransactionResultType;
+import com.zerobase.account.type.TransactionType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionCacheTest {
+	@Mock
+	private RedissonClient redissonClient;
+
+	private TransactionCache transactionCache;
+
+	@BeforeEach
+	void setUp() {
+		transactionCache = new TransactionCache(redissonClient, new ObjectMapper(),
+				new SimpleMeterRegistry(), 100, Duration.ofMinutes(10),
+				false, Duration.ofHours(1));
+	}
+
+	@Test
+	@DisplayName("한 번 조회한 거래는 DB 를 다시 조회하지 않는다.")
+	void loadOnce() {
+		// given
+		AtomicInteger loadCount = new AtomicInteger();
+
+		// when
+		Optional<TransactionDto> first = transactionCache.get("transactionId", id -> {
+			loadCount.incrementAndGet();
+			return Optional.of(transactionDto(id));
+		});
+		Optional<TransactionDto> second = transactionCache.get("transactionId", id -> {
+			loadCount.incrementAndGet();
+			return Optional.of(transactionDto(id));
+		});
+
+		// then
+		assertEquals(1, loadCount.get());
+		assertEquals("transactionId", first.get().getTransactionId());
+		assertSame(first.get(), second.get());
+	}
+
+	@Test
+	@DisplayName("저장 시 넣어둔 거래는 loader 없이 조회된다.")
+	void putAndGet() {
+		// given
+		transactionCache.putAfterCommit(transactionDto("transactionId"));
+
+		// when
+		Optional<TransactionDto> cached = transactionCache.get("transactionId",
+				id -> Optional.empty());
+
+		// then
+		assertTrue(cached.isPresent());
+		assertEquals(1000L, cached.get().getAmount());
+	}
+
+	@Test
+	@DisplayName("없는 거래는 캐시하지 않는다.")
+	void notCacheMissingTransaction() {
+		// given
+		AtomicInteger loadCount = new AtomicInteger();
+
+		// when
+		transactionCache.get("transactionId", id -> {
+			loadCount.incrementAndGet();
+			return Optional.empty();
+		});
+		Optional<TransactionDto> cached = transactionCache.get("transactionId", id -> {
+			loadCount.incrementAndGet();
+			return Optional.empty();
+		});
+
+		// then
+		assertEquals(2, loadCount.get());
+		assertFalse(cached.isPresent());
+	}
+
+	private TransactionDto transactionDto(String transactionId) {
+		return TransactionDto.builder()
+				.accountNumber("1000000000")
+				.transactionType(TransactionType.USE)
+				.transactionResultType(TransactionResultType.S)
+				.transactionId(transactionId)
+				.amount(1000L)
+				.balanceSnapshot(9000L)
+				.transactedAt(LocalDateTime.now())
+				.build();
+	}
+}
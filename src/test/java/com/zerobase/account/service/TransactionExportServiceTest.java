@@ -0,0 +1,149 @@
+package com.zerobase.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.zerobase.account.domain.Account;
+import com.zerobase.account.domain.Transaction;
+import com.zerobase.account.dto.TransactionDto;
+import com.zerobase.account.repository.TransactionArchiveRepository;
+import com.zerobase.account.repository.TransactionRepository;
+import com.zerobase.account.type.ExportFormat;
+import com.zerobase.account.type.TransactionResultType;
+import com.zerobase.account.type.TransactionType;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionExportServiceTest {
+	@Mock
+	private TransactionRepository transactionRepository;
+
+	@Mock
+	private TransactionArchiveRepository transactionArchiveRepository;
+
+	@Mock
+	private EntityManager entityManager;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private final ObjectMapper objectMapper = new ObjectMapper()
+			.registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+	@Test
+	@DisplayName("CSV export - 헤더 + 거래별 한 줄, clear-interval 마다 영속성 컨텍스트 비움")
+	void exportCsv() {
+		// given
+		TransactionExportService exportService = new TransactionExportService(
+				transactionRepository, transactionArchiveRepository, entityManager,
+				objectMapper, transactionManager, 2);
+		AtomicBoolean closed = new AtomicBoolean();
+		given(transactionRepository.streamAllForExport())
+			.willReturn(Stream.of(transaction("a1"), transaction("a2"), transaction("a3"))
+					.onClose(() -> closed.set(true)));
+		given(transactionArchiveRepository.streamAllForExport())
+			.willReturn(Stream.empty());
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		// when
+		long count = exportService.export(ExportFormat.CSV, outputStream);
+
+		// then
+		String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(3, count);
+		assertEquals(4, lines.length);
+		assertEquals("accountNumber,transactionType,transactionResultType,"
+				+ "amount,balanceSnapshot,transactionId,transactedAt", lines[0]);
+		assertEquals("1000000012,USE,S,1000,9000,a1,2024-01-02T03:04:05", lines[1]);
+		assertTrue(closed.get());
+		verify(entityManager, times(1)).clear();
+	}
+
+	@Test
+	@DisplayName("NDJSON export - 거래별 JSON 한 줄")
+	void exportNdjson() throws Exception {
+		// given
+		TransactionExportService exportService = new TransactionExportService(
+				transactionRepository, transactionArchiveRepository, entityManager,
+				objectMapper, transactionManager, 1000);
+		given(transactionRepository.streamAllForExport())
+			.willReturn(Stream.of(transaction("a1"), transaction("a2")));
+		given(transactionArchiveRepository.streamAllForExport())
+			.willReturn(Stream.empty());
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		// when
+		long count = exportService.export(ExportFormat.NDJSON, outputStream);
+
+		// then
+		String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(2, count);
+		assertEquals(2, lines.length);
+		assertEquals("a2", objectMapper.readTree(lines[1]).get("transactionId").asText());
+		assertEquals("2024-01-02T03:04:05",
+				objectMapper.readTree(lines[0]).get("transactedAt").asText());
+		verify(entityManager, never()).clear();
+	}
+
+	@Test
+	@DisplayName("보관된 거래는 transaction 테이블 다음에 이어서 export")
+	void exportWithArchived() {
+		// given
+		TransactionExportService exportService = new TransactionExportService(
+				transactionRepository, transactionArchiveRepository, entityManager,
+				objectMapper, transactionManager, 1000);
+		AtomicBoolean archiveClosed = new AtomicBoolean();
+		given(transactionRepository.streamAllForExport())
+			.willReturn(Stream.of(transaction("a2")));
+		given(transactionArchiveRepository.streamAllForExport())
+			.willReturn(Stream.of(new TransactionDto("1000000012", TransactionType.USE,
+					TransactionResultType.S, 500L, 9500L, "a1",
+					LocalDateTime.of(2022, 1, 2, 3, 4, 5)))
+					.onClose(() -> archiveClosed.set(true)));
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		// when
+		long count = exportService.export(ExportFormat.CSV, outputStream);
+
+		// then
+		String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(2, count);
+		assertEquals(3, lines.length);
+		assertEquals("1000000012,USE,S,1000,9000,a2,2024-01-02T03:04:05", lines[1]);
+		assertEquals("1000000012,USE,S,500,9500,a1,2022-01-02T03:04:05", lines[2]);
+		assertTrue(archiveClosed.get());
+	}
+
+	private static Transaction transaction(String transactionId) {
+		return Transaction.builder()
+				.account(Account.builder().accountNumber("1000000012").build())
+				.transactionType(TransactionType.USE)
+				.transactionResultType(TransactionResultType.S)
+				.amount(1000L)
+				.balanceSnapshot(9000L)
+				.transactionId(transactionId)
+				.transactedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5))
+				.build();
+	}
+}
@@ -9,14 +9,20 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import com.zerobase.account.domain.Account;
 import com.zerobase.account.domain.AccountUser;
 import com.zerobase.account.domain.Transaction;
+import com.zerobase.account.dto.BatchTransaction;
+import com.zerobase.account.dto.FailedTransaction;
 import com.zerobase.account.dto.TransactionDto;
+import com.zerobase.account.dto.TransactionHistory;
+import com.zerobase.account.dto.TransactionHistoryDto;
 import com.zerobase.account.exception.AccountException;
 import com.zerobase.account.repository.AccountRepository;
 import com.zerobase.account.repository.AccountUserRepository;
+import com.zerobase.account.repository.TransactionArchiveRepository;
 import com.zerobase.account.repository.TransactionRepository;
 import com.zerobase.account.type.AccountStatus;
 import com.zerobase.account.type.ErrorCode;
@@ -31,7 +37,10 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceTest {
@@ -47,6 +56,18 @@ class TransactionServiceTest {
 	@Mock
 	private AccountRepository accountRepository;
 	
+	@Mock
+	private TransactionCache transactionCache;
+	
+	@Mock
+	private TransactionIdGenerator transactionIdGenerator;
+	
+	@Mock
+	private AccountListCache accountListCache;
+	
+	@Mock
+	private TransactionArchiveRepository transactionArchiveRepository;
+	
 	@InjectMocks
 	private TransactionService transactionService;
 
@@ -64,12 +85,12 @@ class TransactionServiceTest {
 				.accountNumber("1000000012")
 				.build();
 		
-		given(accountUserRepository.findById(anyLong()))
-			.willReturn(Optional.of(user));
-		
-		given(accountRepository.findByAccountNumber(anyString()))
+		given(accountRepository.findByAccountNumberAndUserId(anyString(), anyLong()))
 			.willReturn(Optional.of(account));
 		
+		given(accountRepository.decreaseBalanceIfUnchanged(any(), any(), anyLong()))
+			.willReturn(1);
+		
 		given(transactionRepository.save(any()))
 			.willReturn(Transaction.builder()
 					.account(account)
@@ -90,6 +111,9 @@ class TransactionServiceTest {
 		verify(transactionRepository, times(1)).save(captor.capture());
 		assertEquals(800L, captor.getValue().getAmount());
 		assertEquals(9200L, captor.getValue().getBalanceSnapshot());
+		// UPDATE 결과로 잔액을 계산하므로 계좌를 다시 조회하지 않는다.
+		verify(accountRepository, times(0)).findByAccountNumber(anyString());
+		verify(accountRepository, times(0)).decreaseBalance(anyString(), anyLong());
 
 		assertEquals(9000L, transactionDto.getBalanceSnapshot());
 		assertEquals(TransactionResultType.S, transactionDto.getTransactionResultType());
@@ -101,8 +125,11 @@ class TransactionServiceTest {
 	@DisplayName("해당 유저 없음 - 잔액 사용 실패")
 	void useBalance_userNotFound() {
 		// given
-		given(accountUserRepository.findById(anyLong()))
-		.willReturn(Optional.empty());
+		given(accountRepository.findByAccountNumberAndUserId(anyString(), anyLong()))
+			.willReturn(Optional.empty());
+		
+		given(accountUserRepository.existsById(anyLong()))
+			.willReturn(false);
 		
 		// when
 		AccountException execption = assertThrows(AccountException.class, 
@@ -116,15 +143,14 @@ class TransactionServiceTest {
 	@DisplayName("해당 계좌 없음 - 잔액 사용 실패")
 	void useBalance_accountNotFound() {
 		// given
-		AccountUser user = AccountUser.builder()
-			.name("Pobi").build();
-		user.setId(12L);
+		given(accountRepository.findByAccountNumberAndUserId(anyString(), anyLong()))
+			.willReturn(Optional.empty());
 		
-		given(accountUserRepository.findById(anyLong()))
-			.willReturn(Optional.of(user));
+		given(accountUserRepository.existsById(anyLong()))
+			.willReturn(true);
 		
-		given(accountRepository.findByAccountNumber(anyString()))
-			.willReturn(Optional.empty());
+		given(accountRepository.existsByAccountNumber(anyString()))
+			.willReturn(false);
 		
 		// when
 		AccountException exception = assertThrows(AccountException.class, 
@@ -138,22 +164,14 @@ class TransactionServiceTest {
 	@DisplayName("계좌 소유주 다름 - 잔액 사용 실패")
 	void useBalance_userUnMatch () {
 		// given
-		AccountUser pobi = AccountUser.builder()
-							.name("Pobi").build();
-		pobi.setId(12L);
+		given(accountRepository.findByAccountNumberAndUserId(anyString(), anyLong()))
+			.willReturn(Optional.empty());
 		
-		AccountUser herry = AccountUser.builder()
-							.name("Herry").build();
-		herry.setId(13L);
-
-		given(accountUserRepository.findById(anyLong()))
-			.willReturn(Optional.of(pobi));
+		given(accountUserRepository.existsById(anyLong()))
+			.willReturn(true);
 		
-		given(accountRepository.findByAccountNumber(anyString()))
-			.willReturn(Optional.of(Account.builder()
-					.accountUser(herry)
-					.balance(0L)
-					.build()));
+		given(accountRepository.existsByAccountNumber(anyString()))
+			.willReturn(true);
 
 		// when
 		AccountException exception = assertThrows(AccountException.class, 
@@ -167,20 +185,8 @@ class TransactionServiceTest {
 	@DisplayName("해지 계좌는 사용할 수 없다.")
 	void useBalance_alreadyUnregistered() {
 		// given
-		AccountUser pobi = AccountUser.builder()
-							.name("Pobi").build();
-		pobi.setId(12L);
-		
-		given(accountUserRepository.findById(anyLong()))
-			.willReturn(Optional.of(pobi));
-		
-		given(accountRepository.findByAccountNumber(anyString()))
-			.willReturn(Optional.of(Account.builder()
-							.accountUser(pobi)
-							.accountStatus(AccountStatus.UNREGISTERD)
-							.balance(0L)
-							.accountNumber("1234567890")
-							.build()));
+		given(accountRepository.findByAccountNumberAndUserId(anyString(), anyLong()))
+			.willReturn(Optional.of(useAccount(AccountStatus.UNREGISTERD, 0L)));
 		// when
 		AccountException exception = assertThrows(AccountException.class, 
 				() -> transactionService.useBalance(1L, "1234567890", 10000L));
@@ -193,33 +199,86 @@ class TransactionServiceTest {
 	@DisplayName("거래 금액이 잔액보다 큰 경우")
 	void useBalance_amountExceedBalance() {
 		// given
-		AccountUser user  = AccountUser.builder()
+		given(accountRepository.findByAccountNumberAndUserId(anyString(), anyLong()))
+			.willReturn(Optional.of(useAccount(AccountStatus.IN_USE, 100L)));
+
+		// when
+		AccountException exception = assertThrows(AccountException.class, 
+				() -> transactionService.useBalance(1L, "1234567890", 1000L));
+
+		// then
+		assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+	}
+	
+	@Test
+	@DisplayName("검증 이후 다른 거래가 먼저 잔액을 사용한 경우")
+	void useBalance_amountExceedBalanceByConcurrentUse() {
+		// given
+		AccountUser user = AccountUser.builder()
 								.name("Pobi").build();
 		user.setId(12L);
 		
-		
-		given(accountUserRepository.findById(anyLong()))
-			.willReturn(Optional.of(user));
+		given(accountRepository.findByAccountNumberAndUserId(anyString(), anyLong()))
+			.willReturn(Optional.of(useAccount(AccountStatus.IN_USE, 1000L)));
 		
 		given(accountRepository.findByAccountNumber(anyString()))
-		.willReturn(Optional.of(Account.builder()
-				.accountUser(user)
-				.accountStatus(AccountStatus.IN_USE)
-				.balance(100L)
-				.accountNumber("1000000012")
-				.build()));
-
+			.willReturn(Optional.of(Account.builder()
+					.accountUser(user)
+					.accountStatus(AccountStatus.IN_USE)
+					.balance(1000L)
+					.accountNumber("1000000012")
+					.build()));
+		
+		given(accountRepository.decreaseBalance(anyString(), anyLong()))
+			.willReturn(0);
+		
 		// when
 		AccountException exception = assertThrows(AccountException.class, 
-				() -> transactionService.useBalance(1L, "1234567890", 1000L));
-
+				() -> transactionService.useBalance(1L, "1000000012", 1000L));
+		
 		// then
 		assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+		verify(transactionRepository, times(0)).save(any());
 	}
 	
 	@Test
-	@DisplayName("실패 트랜잭션 저장")
-	void saveFailedUseTransaction() {
+	@DisplayName("검증 이후 다른 거래가 있었으면 바뀐 잔액을 다시 읽는다.")
+	void useBalance_changedByConcurrentUse() {
+		// given
+		AccountUser user = AccountUser.builder()
+								.name("Pobi").build();
+		user.setId(12L);
+		
+		given(accountRepository.findByAccountNumberAndUserId(anyString(), anyLong()))
+			.willReturn(Optional.of(useAccount(AccountStatus.IN_USE, 10000L)));
+		
+		given(accountRepository.decreaseBalanceIfUnchanged(any(), any(), anyLong()))
+			.willReturn(0);
+		
+		given(accountRepository.decreaseBalance(anyString(), anyLong()))
+			.willReturn(1);
+		
+		given(accountRepository.findByAccountNumber(anyString()))
+			.willReturn(Optional.of(Account.builder()
+					.accountUser(user)
+					.accountStatus(AccountStatus.IN_USE)
+					.balance(8200L)
+					.accountNumber("1000000012")
+					.build()));
+		
+		given(transactionRepository.save(any()))
+			.willAnswer(invocation -> invocation.getArgument(0));
+		
+		// when
+		TransactionDto transactionDto = transactionService.useBalance(1L, "1000000012", 800L);
+		
+		// then
+		assertEquals(8200L, transactionDto.getBalanceSnapshot());
+	}
+	
+	@Test
+	@DisplayName("실패 트랜잭션 일괄 저장")
+	void saveFailedTransactions() {
 		// given
 		AccountUser user = AccountUser.builder()
 				.name("Pobi").build();
@@ -232,31 +291,31 @@ class TransactionServiceTest {
 				.accountNumber("1000000012")
 				.build();
 		
-		given(accountRepository.findByAccountNumber(anyString()))
-			.willReturn(Optional.of(account));
-		
-		given(transactionRepository.save(any()))
-		.willReturn(Transaction.builder()
-				.account(account)
-				.transactionType(TransactionType.USE)
-				.transactionResultType(TransactionResultType.S)
-				.transactionId("transactionId")
-				.transactedAt(LocalDateTime.now())
-				.amount(1000L)
-				.balanceSnapshot(9000L)
-				.build());
+		given(accountRepository.findAllByAccountNumberIn(any()))
+			.willReturn(Arrays.asList(account));
 		
+		given(transactionRepository.saveAll(any()))
+			.willAnswer(invocation -> invocation.getArgument(0));
 		
-		ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+		ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+		LocalDateTime failedAt = LocalDateTime.of(2023, 1, 1, 12, 0);
 
 		// when
-		transactionService.saveFailedUseTransaction("1000000000", USE_AMOUNT);
+		transactionService.saveFailedTransactions(Arrays.asList(
+			new FailedTransaction(TransactionType.USE, "1000000012", USE_AMOUNT, failedAt),
+			new FailedTransaction(TransactionType.CANCEL, "1000000012", CANCEL_AMOUNT, failedAt),
+			new FailedTransaction(TransactionType.USE, "9999999999", USE_AMOUNT, failedAt)
+		));
 
 		// then
-		verify(transactionRepository, times(1)).save(captor.capture());
-		assertEquals(USE_AMOUNT, captor.getValue().getAmount());
-		assertEquals(10000L, captor.getValue().getBalanceSnapshot());
-		assertEquals(TransactionResultType.F, captor.getValue().getTransactionResultType());
+		verify(transactionRepository, times(1)).saveAll(captor.capture());
+		assertEquals(2, captor.getValue().size());
+		assertEquals(USE_AMOUNT, captor.getValue().get(0).getAmount());
+		assertEquals(10000L, captor.getValue().get(0).getBalanceSnapshot());
+		assertEquals(TransactionResultType.F, captor.getValue().get(0).getTransactionResultType());
+		assertEquals(failedAt, captor.getValue().get(0).getTransactedAt());
+		assertEquals(TransactionType.CANCEL, captor.getValue().get(1).getTransactionType());
+		verify(transactionCache, times(2)).putAfterCommit(any());
 	}
 	
 	@Test
@@ -283,12 +342,15 @@ class TransactionServiceTest {
 				.balanceSnapshot(9000L)
 				.build();
 		
-		given(transactionRepository.findByTransactionId(anyString()))
+		given(transactionRepository.findWithAccountByTransactionId(anyString()))
 			.willReturn(Optional.of(transaction));
 		
 		given(accountRepository.findByAccountNumber(anyString()))
 			.willReturn(Optional.of(account));
 		
+		given(accountRepository.increaseBalanceIfUnchanged(any(), any(), anyLong()))
+			.willReturn(1);
+		
 		given(transactionRepository.save(any()))
 			.willReturn(Transaction.builder()
 					.account(account)
@@ -309,9 +371,14 @@ class TransactionServiceTest {
 				CANCEL_AMOUNT); 
 
 		// then
+		verify(accountRepository, times(0)).increaseBalance(anyString(), anyLong());
+		verify(accountRepository, times(1)).findByAccountNumber(anyString());
 		verify(transactionRepository, times(1)).save(captor.capture());
 		assertEquals(CANCEL_AMOUNT, captor.getValue().getAmount());
 		assertEquals(10000L + CANCEL_AMOUNT, captor.getValue().getBalanceSnapshot());
+		assertEquals("transactionId", captor.getValue().getOriginalTransactionId());
+		assertEquals(CANCEL_AMOUNT, captor.getValue().getCancelledAmount());
+		assertEquals(CANCEL_AMOUNT, transaction.getCancelledAmount());
 
 		assertEquals(TransactionResultType.S, transactionDto.getTransactionResultType());
 		assertEquals(TransactionType.CANCEL, transactionDto.getTransactionType());
@@ -319,11 +386,28 @@ class TransactionServiceTest {
 		assertEquals(CANCEL_AMOUNT, transactionDto.getAmount());
 	}
 	
+	@Test
+	@DisplayName("보관된 원 거래 - 잔액 사용 취소 실패")
+	void cancelTransaction_archived() {
+		// given
+		given(transactionRepository.findWithAccountByTransactionId(anyString()))
+			.willReturn(Optional.empty());
+		given(transactionArchiveRepository.existsByTransactionId("transactionId"))
+			.willReturn(true);
+
+		// when
+		AccountException exception = assertThrows(AccountException.class, 
+			() -> transactionService.cancelBalance("transactionId", "1000000000", 10000L));
+
+		// then
+		assertEquals(ErrorCode.TOO_OLD_ORDER_TO_CANCEL, exception.getErrorCode());
+	}
+	
 	@Test
 	@DisplayName("원 사용 거래 없음 - 잔액 사용 취소 실패")
 	void cancelTransaction_transactionNotFound() {
 		// given
-		given(transactionRepository.findByTransactionId(anyString()))
+		given(transactionRepository.findWithAccountByTransactionId(anyString()))
 			.willReturn(Optional.empty());
 
 		// when
@@ -338,9 +422,13 @@ class TransactionServiceTest {
 	@DisplayName("해당 계좌 없음 - 잔액 사용 취소 실패")
 	void cancelTransaction_accountNotFound() {
 		// given
-		Transaction transaction = Transaction.builder().build();
+		Transaction transaction = Transaction.builder()
+				.account(Account.builder()
+						.accountNumber("1000000012")
+						.build())
+				.build();
 		
-		given(transactionRepository.findByTransactionId(anyString()))
+		given(transactionRepository.findWithAccountByTransactionId(anyString()))
 			.willReturn(Optional.of(transaction));
 		
 		given(accountRepository.findByAccountNumber(anyString()))
@@ -388,7 +476,7 @@ class TransactionServiceTest {
 				.balanceSnapshot(9000L)
 				.build();
 		
-		given(transactionRepository.findByTransactionId(anyString()))
+		given(transactionRepository.findWithAccountByTransactionId(anyString()))
 			.willReturn(Optional.of(transaction));
 		
 		given(accountRepository.findByAccountNumber(anyString()))
@@ -399,7 +487,7 @@ class TransactionServiceTest {
 		AccountException exception = assertThrows(AccountException.class, 
 			() -> transactionService.cancelBalance(
 					"transactionId",
-					"1000000000",
+					"1000000001",
 					CANCEL_AMOUNT));
 		
 		// then
@@ -407,8 +495,57 @@ class TransactionServiceTest {
 	}
 	
 	@Test
-	@DisplayName("거래금액과 최소금액이 다름 - 잔액 사용 취소 실패")
-	void cancelTransaction_cancelMustFully() {
+	@DisplayName("부분 취소 - 원 거래의 누적 취소 금액에 더한다.")
+	void successPartialCancelBalance() {
+		// given
+		AccountUser user = AccountUser.builder()
+				.name("Pobi").build();
+		user.setId(12L);
+		
+		Account account = Account.builder()
+				.accountUser(user)
+				.accountStatus(AccountStatus.IN_USE)
+				.balance(10000L)
+				.accountNumber("1000000012")
+				.build();
+		account.setId(1L);
+		
+		Transaction transaction = Transaction.builder()
+				.account(account)
+				.transactionType(TransactionType.USE)
+				.transactionResultType(TransactionResultType.S)
+				.transactionId("transactionId")
+				.transactedAt(LocalDateTime.now())
+				.amount(CANCEL_AMOUNT + 1000L)
+				.balanceSnapshot(9000L)
+				.cancelledAmount(500L)
+				.build();
+		
+		given(transactionRepository.findWithAccountByTransactionId(anyString()))
+			.willReturn(Optional.of(transaction));
+		
+		given(accountRepository.findByAccountNumber(anyString()))
+			.willReturn(Optional.of(account));
+		
+		given(transactionRepository.save(any()))
+			.willAnswer(invocation -> invocation.getArgument(0));
+		
+		ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+		
+		// when
+		transactionService.cancelBalance("transactionId", "1000000012", CANCEL_AMOUNT);
+		
+		// then
+		verify(transactionRepository, times(1)).save(captor.capture());
+		assertEquals(500L + CANCEL_AMOUNT, transaction.getCancelledAmount());
+		assertEquals(500L, transaction.getRemainingAmount());
+		assertEquals(500L + CANCEL_AMOUNT, captor.getValue().getCancelledAmount());
+		assertEquals("transactionId", captor.getValue().getOriginalTransactionId());
+	}
+	
+	@Test
+	@DisplayName("취소 금액이 남은 금액보다 큼 - 잔액 사용 취소 실패")
+	void cancelTransaction_cancelAmountExceedRemaining() {
 		// given
 		AccountUser user = AccountUser.builder()
 				.name("Pobi").build();
@@ -430,9 +567,10 @@ class TransactionServiceTest {
 				.transactedAt(LocalDateTime.now())
 				.amount(CANCEL_AMOUNT + 1000L)
 				.balanceSnapshot(9000L)
+				.cancelledAmount(1500L)
 				.build();
 
-		given(transactionRepository.findByTransactionId(anyString()))
+		given(transactionRepository.findWithAccountByTransactionId(anyString()))
 			.willReturn(Optional.of(transaction));
 		
 		given(accountRepository.findByAccountNumber(anyString()))
@@ -447,12 +585,82 @@ class TransactionServiceTest {
 		);
 		
 		// then
-		assertEquals(ErrorCode.CANCEL_MUST_FULLY, exception.getErrorCode());
+		assertEquals(ErrorCode.CANCEL_AMOUNT_EXCEED_REMAINING, exception.getErrorCode());
+		assertEquals(1500L, transaction.getCancelledAmount());
+		verify(accountRepository, times(0)).increaseBalance(anyString(), anyLong());
 	}
 	
 	@Test
-	@DisplayName("취소는 1년 거래까지만 가능 - 잔액 사용 취소 실패")
-	void cancelTransaction_tooOldOrderToCancel() {
+	@DisplayName("실패한 사용 거래 - 잔액 사용 취소 실패")
+	void cancelTransaction_failedUseTransaction() {
+		assertNotCancellable(TransactionType.USE, TransactionResultType.F);
+	}
+	
+	@Test
+	@DisplayName("취소 거래를 다시 취소 - 잔액 사용 취소 실패")
+	void cancelTransaction_cancelTransaction() {
+		assertNotCancellable(TransactionType.CANCEL, TransactionResultType.S);
+	}
+	
+	private static Account useAccount(AccountStatus accountStatus, Long balance) {
+		AccountUser user = AccountUser.builder()
+				.name("Pobi").build();
+		user.setId(12L);
+		
+		return Account.builder()
+				.accountUser(user)
+				.accountStatus(accountStatus)
+				.balance(balance)
+				.accountNumber("1000000012")
+				.version(0L)
+				.build();
+	}
+	
+	private void assertNotCancellable(
+			TransactionType transactionType, TransactionResultType transactionResultType) {
+		// given
+		AccountUser user = AccountUser.builder()
+				.name("Pobi").build();
+		user.setId(12L);
+		
+		Account account = Account.builder()
+				.accountUser(user)
+				.accountStatus(AccountStatus.IN_USE)
+				.balance(10000L)
+				.accountNumber("1000000012")
+				.build();
+		account.setId(1L);
+		
+		Transaction transaction = Transaction.builder()
+				.account(account)
+				.transactionType(transactionType)
+				.transactionResultType(transactionResultType)
+				.transactionId("transactionId")
+				.transactedAt(LocalDateTime.now())
+				.amount(CANCEL_AMOUNT)
+				.balanceSnapshot(10000L)
+				.build();
+
+		given(transactionRepository.findWithAccountByTransactionId(anyString()))
+			.willReturn(Optional.of(transaction));
+
+		// when
+		AccountException exception = assertThrows(AccountException.class,
+			() -> transactionService.cancelBalance(
+					"transactionId",
+					"1000000012",
+					CANCEL_AMOUNT)
+		);
+		
+		// then
+		assertEquals(ErrorCode.TRANSACTION_NOT_CANCELLABLE, exception.getErrorCode());
+		assertNull(transaction.getCancelledAmount());
+		verify(accountRepository, times(0)).increaseBalance(anyString(), anyLong());
+	}
+	
+	@Test
+	@DisplayName("이미 전액 취소된 거래 - 중복 취소 실패")
+	void cancelTransaction_alreadyCancelled() {
 		// given
 		AccountUser user = AccountUser.builder()
 				.name("Pobi").build();
@@ -471,12 +679,13 @@ class TransactionServiceTest {
 				.transactionType(TransactionType.USE)
 				.transactionResultType(TransactionResultType.S)
 				.transactionId("transactionId")
-				.transactedAt(LocalDateTime.now().minusYears(1))
+				.transactedAt(LocalDateTime.now())
 				.amount(CANCEL_AMOUNT)
 				.balanceSnapshot(9000L)
+				.cancelledAmount(CANCEL_AMOUNT)
 				.build();
 
-		given(transactionRepository.findByTransactionId(anyString()))
+		given(transactionRepository.findWithAccountByTransactionId(anyString()))
 			.willReturn(Optional.of(transaction));
 		
 		given(accountRepository.findByAccountNumber(anyString()))
@@ -491,11 +700,12 @@ class TransactionServiceTest {
 		);
 		
 		// then
-		assertEquals(ErrorCode.TOO_OLD_ORDER_TO_CANCEL, exception.getErrorCode());
+		assertEquals(ErrorCode.TRANSACTION_ALREADY_CANCELLED, exception.getErrorCode());
 	}
 	
 	@Test
-	void successQueryTransaction() {
+	@DisplayName("취소는 1년 거래까지만 가능 - 잔액 사용 취소 실패")
+	void cancelTransaction_tooOldOrderToCancel() {
 		// given
 		AccountUser user = AccountUser.builder()
 				.name("Pobi").build();
@@ -518,8 +728,44 @@ class TransactionServiceTest {
 				.amount(CANCEL_AMOUNT)
 				.balanceSnapshot(9000L)
 				.build();
+
+		given(transactionRepository.findWithAccountByTransactionId(anyString()))
+			.willReturn(Optional.of(transaction));
+		
+		given(accountRepository.findByAccountNumber(anyString()))
+			.willReturn(Optional.of(account));
+
+		// when
+		AccountException exception = assertThrows(AccountException.class,
+			() -> transactionService.cancelBalance(
+					"transactionId",
+					"1000000000",
+					CANCEL_AMOUNT)
+		);
 		
-		given(transactionRepository.findByTransactionId(anyString()))
+		// then
+		assertEquals(ErrorCode.TOO_OLD_ORDER_TO_CANCEL, exception.getErrorCode());
+	}
+	
+	@Test
+	void successQueryTransaction() {
+		// given
+		TransactionDto transaction = TransactionDto.builder()
+				.accountNumber("1000000012")
+				.transactionType(TransactionType.USE)
+				.transactionResultType(TransactionResultType.S)
+				.transactionId("transactionId")
+				.transactedAt(LocalDateTime.now().minusYears(1))
+				.amount(CANCEL_AMOUNT)
+				.balanceSnapshot(9000L)
+				.build();
+		
+		given(transactionCache.get(anyString(), any()))
+			.willAnswer(invocation -> invocation
+					.<Function<String, Optional<TransactionDto>>>getArgument(1)
+					.apply(invocation.getArgument(0)));
+		
+		given(transactionRepository.findDtoByTransactionId(anyString()))
 			.willReturn(Optional.of(transaction));
 
 		// when
@@ -532,11 +778,45 @@ class TransactionServiceTest {
 		assertEquals("transactionId", transactionDto.getTransactionId());
 	}
 	
+	@Test
+	@DisplayName("보관된 거래 - archive 에서 조회")
+	void queryTransaction_archived() {
+		// given
+		given(transactionCache.get(anyString(), any()))
+			.willAnswer(invocation -> invocation
+					.<Function<String, Optional<TransactionDto>>>getArgument(1)
+					.apply(invocation.getArgument(0)));
+		given(transactionRepository.findDtoByTransactionId(anyString()))
+			.willReturn(Optional.empty());
+		given(transactionArchiveRepository.findDtoByTransactionId("trxId"))
+			.willReturn(Optional.of(TransactionDto.builder()
+				.accountNumber("1000000012")
+				.transactionType(TransactionType.USE)
+				.transactionResultType(TransactionResultType.S)
+				.transactionId("trxId")
+				.transactedAt(LocalDateTime.now().minusYears(2))
+				.amount(CANCEL_AMOUNT)
+				.balanceSnapshot(9000L)
+				.build()));
+
+		// when
+		TransactionDto transactionDto = transactionService.queryTransactionId("trxId");
+
+		// then
+		assertEquals("trxId", transactionDto.getTransactionId());
+		assertEquals("1000000012", transactionDto.getAccountNumber());
+	}
+	
 	@Test
 	@DisplayName("원 거래 없음 - 거래 조회 실패")
 	void queryTransaction_transactionNotFound() {
 		// given
-		given(transactionRepository.findByTransactionId(anyString()))
+		given(transactionCache.get(anyString(), any()))
+			.willAnswer(invocation -> invocation
+					.<Function<String, Optional<TransactionDto>>>getArgument(1)
+					.apply(invocation.getArgument(0)));
+		
+		given(transactionRepository.findDtoByTransactionId(anyString()))
 			.willReturn(Optional.empty()); 
 
 		// when
@@ -546,5 +826,189 @@ class TransactionServiceTest {
 		// then
 		assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, exception.getErrorCode());
 	}
+	
+	@Test
+	@DisplayName("일괄 거래 - 항목별 성공/실패를 요청 순서대로 반영")
+	void applyBatch() {
+		// given
+		AccountUser user = AccountUser.builder()
+				.name("Pobi").build();
+		user.setId(12L);
+		
+		Account account = Account.builder()
+				.accountUser(user)
+				.accountStatus(AccountStatus.IN_USE)
+				.balance(1000L)
+				.accountNumber("1000000012")
+				.build();
+		account.setId(1L);
+		
+		Transaction original = Transaction.builder()
+				.account(account)
+				.transactionType(TransactionType.USE)
+				.transactionResultType(TransactionResultType.S)
+				.transactionId("transactionIdForCancel")
+				.transactedAt(LocalDateTime.now())
+				.amount(CANCEL_AMOUNT)
+				.balanceSnapshot(800L)
+				.build();
+		
+		given(accountRepository.findByAccountNumber(anyString()))
+			.willReturn(Optional.of(account));
+		
+		given(transactionRepository.findAllByTransactionIdIn(any()))
+			.willReturn(Arrays.asList(original));
+		
+		given(transactionRepository.saveAll(any()))
+			.willAnswer(invocation -> invocation.getArgument(0));
+		
+		List<BatchTransaction.Item> items = Arrays.asList(
+			new BatchTransaction.Item(TransactionType.USE, 12L, null, "1000000012", 700L),
+			new BatchTransaction.Item(TransactionType.USE, 12L, null, "1000000012", 700L),
+			new BatchTransaction.Item(TransactionType.CANCEL, null, "transactionIdForCancel", "1000000012", CANCEL_AMOUNT)
+		);
+		
+		// when
+		List<BatchTransaction.Result> results =
+				transactionService.applyBatch("1000000012", items);
+		
+		// then
+		assertEquals(3, results.size());
+		assertEquals(TransactionResultType.S, results.get(0).getTransactionResult());
+		assertEquals(TransactionResultType.F, results.get(1).getTransactionResult());
+		assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, results.get(1).getErrorCode());
+		assertEquals(TransactionResultType.S, results.get(2).getTransactionResult());
+		assertEquals(500L, account.getBalance());
+		assertEquals(CANCEL_AMOUNT, original.getCancelledAmount());
+		verify(transactionRepository, times(1)).saveAll(any());
+		verify(transactionCache, times(3)).putAfterCommit(any());
+	}
+	
+	@Test
+	@DisplayName("거래 내역 - size 보다 많으면 다음 페이지 cursor 반환")
+	void getTransactionHistory() {
+		// given
+		Account account = Account.builder()
+				.accountStatus(AccountStatus.IN_USE)
+				.balance(10000L)
+				.accountNumber("1000000012")
+				.build();
+		account.setId(1L);
+		
+		LocalDateTime now = LocalDateTime.now();
+		given(accountRepository.findByAccountNumber(anyString()))
+			.willReturn(Optional.of(account));
+		given(transactionRepository.findHistory(anyLong(), any()))
+			.willReturn(Arrays.asList(
+				history(3L, now),
+				history(2L, now.minusSeconds(1)),
+				history(1L, now.minusSeconds(2))));
+		
+		// when
+		TransactionHistory.Response response =
+				transactionService.getTransactionHistory("1000000012", null, 2);
+		
+		// then
+		assertEquals(2, response.getTransactions().size());
+		assertEquals("transactionId3", response.getTransactions().get(0).getTransactionId());
+		TransactionHistory.Cursor cursor =
+				TransactionHistory.Cursor.decode(response.getNextCursor());
+		assertEquals(2L, cursor.getId());
+		assertEquals(now.minusSeconds(1), cursor.getTransactedAt());
+	}
+	
+	@Test
+	@DisplayName("거래 내역 - cursor 이후 마지막 페이지")
+	void getTransactionHistory_lastPage() {
+		// given
+		Account account = Account.builder()
+				.accountStatus(AccountStatus.IN_USE)
+				.balance(10000L)
+				.accountNumber("1000000012")
+				.build();
+		account.setId(1L);
+		
+		LocalDateTime transactedAt = LocalDateTime.now();
+		String cursor = new TransactionHistory.Cursor(transactedAt, 2L).encode();
+		given(accountRepository.findByAccountNumber(anyString()))
+			.willReturn(Optional.of(account));
+		given(transactionRepository.findHistoryAfter(
+				anyLong(), any(), anyLong(), any()))
+			.willReturn(Arrays.asList(history(1L, transactedAt.minusSeconds(1))));
+		
+		// when
+		TransactionHistory.Response response =
+				transactionService.getTransactionHistory("1000000012", cursor, 2);
+		
+		// then
+		verify(transactionRepository, times(1))
+			.findHistoryAfter(1L, transactedAt, 2L, PageRequest.of(0, 3));
+		assertEquals(1, response.getTransactions().size());
+		assertNull(response.getNextCursor());
+	}
+	
+	@Test
+	@DisplayName("거래 내역 - transaction 테이블 이후는 archive 에서 이어서 조회")
+	void getTransactionHistory_archive() {
+		// given
+		Account account = Account.builder()
+				.accountStatus(AccountStatus.IN_USE)
+				.balance(10000L)
+				.accountNumber("1000000012")
+				.build();
+		account.setId(1L);
+		
+		LocalDateTime transactedAt = LocalDateTime.now().minusYears(1);
+		given(accountRepository.findByAccountNumber(anyString()))
+			.willReturn(Optional.of(account));
+		given(transactionRepository.findHistory(anyLong(), any()))
+			.willReturn(Arrays.asList(history(5L, transactedAt)));
+		given(transactionArchiveRepository.findHistoryAfter(
+				anyLong(), any(), anyLong(), any()))
+			.willReturn(Arrays.asList(
+				history(4L, transactedAt.minusDays(1)),
+				history(3L, transactedAt.minusDays(2))));
+		
+		// when
+		TransactionHistory.Response response =
+				transactionService.getTransactionHistory("1000000012", null, 2);
+		
+		// then
+		verify(transactionArchiveRepository, times(1))
+			.findHistoryAfter(1L, transactedAt, 5L, PageRequest.of(0, 2));
+		assertEquals(2, response.getTransactions().size());
+		assertNotNull(response.getNextCursor());
+	}
+	
+	@Test
+	@DisplayName("거래 내역 - 잘못된 cursor")
+	void getTransactionHistory_invalidCursor() {
+		// given
+		Account account = Account.builder()
+				.accountStatus(AccountStatus.IN_USE)
+				.balance(10000L)
+				.accountNumber("1000000012")
+				.build();
+		given(accountRepository.findByAccountNumber(anyString()))
+			.willReturn(Optional.of(account));
+		
+		// when
+		AccountException exception = assertThrows(AccountException.class,
+			() -> transactionService.getTransactionHistory("1000000012", "not-a-cursor", 20));
+		
+		// then
+		assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+	}
+	
+	private TransactionHistoryDto history(Long id, LocalDateTime transactedAt) {
+		return TransactionHistoryDto.builder()
+				.id(id)
+				.transactionType(TransactionType.USE)
+				.transactionResultType(TransactionResultType.S)
+				.amount(USE_AMOUNT)
+				.balanceSnapshot(10000L)
+				.transactionId("transactionId" + id)
+				.transactedAt(transactedAt)
+				.build();
+	}
 }
-	
\ No newline at end of file
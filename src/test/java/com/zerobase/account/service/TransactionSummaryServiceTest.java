@@ -0,0 +1,218 @@
+package com.zerobase.account.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.zerobase.account.domain.Account;
+import com.zerobase.account.domain.AggregationWatermark;
+import com.zerobase.account.domain.DailyTransactionSummary;
+import com.zerobase.account.dto.DailySummary;
+import com.zerobase.account.dto.TransactionAggregateDto;
+import com.zerobase.account.exception.AccountException;
+import com.zerobase.account.repository.AccountRepository;
+import com.zerobase.account.repository.AggregationWatermarkRepository;
+import com.zerobase.account.repository.DailyTransactionSummaryRepository;
+import com.zerobase.account.repository.TransactionRepository;
+import com.zerobase.account.type.ErrorCode;
+import com.zerobase.account.type.TransactionResultType;
+import com.zerobase.account.type.TransactionType;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionSummaryServiceTest {
+	private static final LocalDateTime DAY = LocalDateTime.of(2024, 1, 2, 10, 0);
+
+	@Mock
+	private TransactionRepository transactionRepository;
+
+	@Mock
+	private AccountRepository accountRepository;
+
+	@Mock
+	private DailyTransactionSummaryRepository dailyTransactionSummaryRepository;
+
+	@Mock
+	private AggregationWatermarkRepository aggregationWatermarkRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionSummaryService transactionSummaryService;
+
+	@BeforeEach
+	void setUp() {
+		transactionSummaryService = new TransactionSummaryService(
+				transactionRepository, accountRepository, dailyTransactionSummaryRepository,
+				aggregationWatermarkRepository, transactionManager,
+				true, 10, 366);
+	}
+
+	@Test
+	@DisplayName("집계하지 않은 거래를 기존 집계에 누적하고 집계됨으로 표시한다.")
+	void aggregate() {
+		// given
+		AggregationWatermark watermark = new AggregationWatermark(
+				TransactionSummaryService.WATERMARK_NAME, 10L);
+		given(aggregationWatermarkRepository.findByName(TransactionSummaryService.WATERMARK_NAME))
+			.willReturn(Optional.of(watermark));
+		given(transactionRepository.findNotAggregated(PageRequest.of(0, 10)))
+			.willReturn(Arrays.asList(
+				row(11L, 1L, TransactionType.USE, 1000L, DAY),
+				row(12L, 1L, TransactionType.USE, 500L, DAY.plusHours(1)),
+				row(13L, 2L, TransactionType.CANCEL, 300L, DAY)));
+		DailyTransactionSummary existing = DailyTransactionSummary.builder()
+				.account(account(1L))
+				.summaryDate(DAY.toLocalDate())
+				.transactionType(TransactionType.USE)
+				.transactionResultType(TransactionResultType.S)
+				.transactionCount(2L)
+				.totalAmount(2000L)
+				.build();
+		given(dailyTransactionSummaryRepository.findAllForAggregation(any(), any()))
+			.willReturn(Collections.singletonList(existing));
+		given(accountRepository.getReferenceById(2L)).willReturn(account(2L));
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<DailyTransactionSummary>> captor =
+				ArgumentCaptor.forClass(List.class);
+
+		// when
+		transactionSummaryService.aggregate();
+
+		// then
+		verify(dailyTransactionSummaryRepository).saveAll(captor.capture());
+		List<DailyTransactionSummary> saved = new ArrayList<>(captor.getValue());
+		assertEquals(2, saved.size());
+		assertEquals(4L, existing.getTransactionCount());
+		assertEquals(3500L, existing.getTotalAmount());
+		saved.remove(existing);
+		assertEquals(2L, saved.get(0).getAccount().getId());
+		assertEquals(TransactionType.CANCEL, saved.get(0).getTransactionType());
+		assertEquals(1L, saved.get(0).getTransactionCount());
+		assertEquals(300L, saved.get(0).getTotalAmount());
+		verify(transactionRepository).markAggregated(Arrays.asList(11L, 12L, 13L));
+		assertEquals(13L, watermark.getLastTransactionId());
+		verify(aggregationWatermarkRepository).save(watermark);
+	}
+
+	@Test
+	@DisplayName("마지막으로 집계한 id 보다 작은 id 로 늦게 커밋된 거래도 집계한다.")
+	void aggregate_lateCommitBelowWatermark() {
+		// given
+		given(aggregationWatermarkRepository.findByName(TransactionSummaryService.WATERMARK_NAME))
+			.willReturn(Optional.of(new AggregationWatermark(
+					TransactionSummaryService.WATERMARK_NAME, 100L)));
+		// 다른 노드가 미리 받아 둔 id 구간(51 ~ 100)에서 발급되어 늦게 커밋된 거래
+		given(transactionRepository.findNotAggregated(PageRequest.of(0, 10)))
+			.willReturn(Collections.singletonList(
+				row(60L, 1L, TransactionType.USE, 700L, DAY)));
+		given(dailyTransactionSummaryRepository.findAllForAggregation(any(), any()))
+			.willReturn(Collections.emptyList());
+		given(accountRepository.getReferenceById(1L)).willReturn(account(1L));
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<DailyTransactionSummary>> captor =
+				ArgumentCaptor.forClass(List.class);
+
+		// when
+		transactionSummaryService.aggregate();
+
+		// then
+		verify(dailyTransactionSummaryRepository).saveAll(captor.capture());
+		assertEquals(1, captor.getValue().size());
+		assertEquals(1L, captor.getValue().get(0).getTransactionCount());
+		assertEquals(700L, captor.getValue().get(0).getTotalAmount());
+		verify(transactionRepository).markAggregated(Collections.singletonList(60L));
+	}
+
+	@Test
+	@DisplayName("집계할 거래가 없으면 아무것도 바꾸지 않는다.")
+	void aggregate_nothingToAggregate() {
+		// given
+		given(aggregationWatermarkRepository.findByName(TransactionSummaryService.WATERMARK_NAME))
+			.willReturn(Optional.of(new AggregationWatermark(
+					TransactionSummaryService.WATERMARK_NAME, 10L)));
+		given(transactionRepository.findNotAggregated(PageRequest.of(0, 10)))
+			.willReturn(Collections.emptyList());
+
+		// when
+		transactionSummaryService.aggregate();
+
+		// then
+		verify(dailyTransactionSummaryRepository, never()).saveAll(any());
+		verify(transactionRepository, never()).markAggregated(any());
+		verify(aggregationWatermarkRepository, never()).save(any());
+	}
+
+	@Test
+	void successGetDailySummary() {
+		// given
+		given(accountRepository.findByAccountNumber("1000000012"))
+			.willReturn(Optional.of(account(1L)));
+		given(dailyTransactionSummaryRepository.findByAccountIdAndSummaryDateBetween(
+				1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+			.willReturn(Collections.singletonList(DailyTransactionSummary.builder()
+				.summaryDate(DAY.toLocalDate())
+				.transactionType(TransactionType.USE)
+				.transactionResultType(TransactionResultType.S)
+				.transactionCount(3L)
+				.totalAmount(3000L)
+				.build()));
+
+		// when
+		DailySummary.Response response = transactionSummaryService.getDailySummary(
+				"1000000012", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+		// then
+		assertEquals(1, response.getSummaries().size());
+		assertEquals(LocalDate.of(2024, 1, 2), response.getSummaries().get(0).getDate());
+		assertEquals(3000L, response.getSummaries().get(0).getTotalAmount());
+	}
+
+	@Test
+	@DisplayName("조회 기간이 거꾸로이거나 max-days 를 넘으면 INVALID_REQUEST")
+	void getDailySummary_invalidRange() {
+		// given
+		// when
+		AccountException reversed = assertThrows(AccountException.class,
+				() -> transactionSummaryService.getDailySummary("1000000012",
+						LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)));
+		AccountException tooLong = assertThrows(AccountException.class,
+				() -> transactionSummaryService.getDailySummary("1000000012",
+						LocalDate.of(2022, 12, 31), LocalDate.of(2024, 1, 1)));
+
+		// then
+		assertEquals(ErrorCode.INVALID_REQUEST, reversed.getErrorCode());
+		assertEquals(ErrorCode.INVALID_REQUEST, tooLong.getErrorCode());
+	}
+
+	private static TransactionAggregateDto row(Long id, Long accountId,
+			TransactionType transactionType, Long amount, LocalDateTime transactedAt) {
+		return new TransactionAggregateDto(id, accountId, transactionType,
+				TransactionResultType.S, amount, transactedAt);
+	}
+
+	private static Account account(Long id) {
+		Account account = Account.builder().accountNumber("100000000" + id).build();
+		account.setId(id);
+		return account;
+	}
+}